@@ -0,0 +1,85 @@
+package com.practice1.benchmarks;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.lock.AccountContentionTracker;
+import com.practice1.backend.account.service.lock.AccountLockMetrics;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.account.service.lock.LocalAccountLocks;
+import com.practice1.backend.account.service.lock.TransferRetryBudget;
+import com.practice1.backend.common.metrics.StageMetrics;
+import com.practice1.benchmarks.support.LocalRedissonStandIn;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cost of {@link GlobalAccountLockFacade} around an empty transfer, with Redis replaced by an in-process
+ * lock stand-in, next to the local stripe locks on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class AccountLockBenchmark {
+
+    @Param({"2", "1000"})
+    public int accountCount;
+
+    private LocalAccountLocks localAccountLocks;
+    private GlobalAccountLockFacade lockFacade;
+
+    @Setup
+    public void setUp() {
+        TransferProperties transferProperties = new TransferProperties();
+        AccountLockMetrics lockMetrics = new AccountLockMetrics();
+        StageMetrics stageMetrics = new StageMetrics(new SimpleMeterRegistry());
+        localAccountLocks = new LocalAccountLocks(lockMetrics);
+        AccountService noOpTransfer = new AccountService(null, null, null, null, stageMetrics, null, null, null, null, null) {
+            @Override
+            public boolean needsCreditLock(Long fromAccountId, Long toAccountId) {
+                return true;
+            }
+
+            @Override
+            public void settleDeferredCredits(WithdrawReqDto req) {
+            }
+
+            @Override
+            public void withdrawAndDeposit(WithdrawReqDto req) {
+            }
+        };
+        lockFacade = new GlobalAccountLockFacade(LocalRedissonStandIn.create(), noOpTransfer, null,
+                localAccountLocks, lockMetrics, stageMetrics, transferProperties,
+                new AccountContentionTracker(transferProperties), new TransferRetryBudget(transferProperties));
+    }
+
+    @Benchmark
+    public void lockFacade() throws InterruptedException {
+        long[] pair = pair();
+        lockFacade.transferWithGlobalLock(WithdrawReqDto.builder()
+                .fromAccountId(pair[0])
+                .toAccountId(pair[1])
+                .amount(1L)
+                .build());
+    }
+
+    @Benchmark
+    public void localLocksOnly() throws InterruptedException {
+        long[] pair = pair();
+        List<ReentrantLock> locks = localAccountLocks.tryLockAll(List.of(pair[0], pair[1]), 3, TimeUnit.SECONDS);
+        if (locks != null) localAccountLocks.unlockAll(locks);
+    }
+
+    private long[] pair() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = random.nextInt(accountCount) + 1;
+        long to = (from + random.nextInt(accountCount - 1)) % accountCount + 1;
+        return new long[]{from, to};
+    }
+}
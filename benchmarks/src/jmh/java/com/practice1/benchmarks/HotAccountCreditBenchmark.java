@@ -0,0 +1,75 @@
+package com.practice1.benchmarks;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.CreditMode;
+import com.practice1.backend.account.service.TransferWritePath;
+import com.practice1.backend.account.service.slot.AccountBalanceSlots;
+import com.practice1.benchmarks.support.TransferBenchmarkConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many senders crediting one merchant account: through its locked row, split across 16 sub-balance slots,
+ * as an unlocked atomic increment, or appended to the pending-credit ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class HotAccountCreditBenchmark {
+    private static final long HOT_ACCOUNT = 1L;
+    private static final int SENDERS = 1_000;
+
+    @Param({"PESSIMISTIC", "CONDITIONAL_UPDATE"})
+    public String writePath;
+
+    @Param({"LOCKED", "SLOTS", "ATOMIC_INCREMENT", "PENDING_LEDGER"})
+    public String creditPath;
+
+    private AnnotationConfigApplicationContext context;
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.setWritePath(TransferWritePath.valueOf(writePath));
+        if (!creditPath.equals("SLOTS")) transferProperties.setCreditMode(CreditMode.valueOf(creditPath));
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TransferProperties.class, () -> transferProperties);
+        context.register(TransferBenchmarkConfig.class);
+        context.refresh();
+        accountService = context.getBean(AccountService.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into customer (customer_name, birth) values ('bench', CURRENT_DATE)");
+        List<Object[]> accounts = new ArrayList<>(SENDERS + 1);
+        for (int i = 0; i <= SENDERS; i++) accounts.add(new Object[]{1L, 1_000_000_000_000L});
+        jdbcTemplate.batchUpdate(
+                "insert into account (customer_id, balance, version, created_at) values (?, ?, 0, CURRENT_TIMESTAMP)",
+                accounts);
+        if (creditPath.equals("SLOTS")) context.getBean(AccountBalanceSlots.class).shard(HOT_ACCOUNT, 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void creditHotAccount() {
+        long from = ThreadLocalRandom.current().nextInt(SENDERS) + HOT_ACCOUNT + 1;
+        accountService.withdrawAndDeposit(WithdrawReqDto.builder()
+                .fromAccountId(from)
+                .toAccountId(HOT_ACCOUNT)
+                .amount(1L)
+                .build());
+    }
+}
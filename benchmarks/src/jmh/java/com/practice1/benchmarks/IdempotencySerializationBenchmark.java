@@ -0,0 +1,75 @@
+package com.practice1.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.dto.response.BatchTransferResDto;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.common.idempotency.service.StoredResponseCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the responses {@code IdempotencyService} stores, with the compact codec
+ * and with the plain Jackson form it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdempotencySerializationBenchmark {
+
+    @Param({"NO_CONTENT", "BATCH_500"})
+    public String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final StoredResponseCodec codec = new StoredResponseCodec(objectMapper);
+
+    private ResponseEntity<?> response;
+    private String storedCompact;
+    private String storedJackson;
+
+    @Setup
+    public void setUp() throws Exception {
+        response = payload.equals("NO_CONTENT") ? ResponseEntity.noContent().build() : batchResponse(500);
+        storedCompact = Base64.getEncoder().encodeToString(codec.encode(response));
+        storedJackson = objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String compactEncode() {
+        return Base64.getEncoder().encodeToString(codec.encode(response));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> compactDecode() {
+        return codec.decode(Base64.getDecoder().decode(storedCompact));
+    }
+
+    @Benchmark
+    public String jacksonEncode() throws Exception {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public Object jacksonDecode() throws Exception {
+        JsonNode node = objectMapper.readTree(storedJackson);
+        return objectMapper.treeToValue(node.get("body"), Object.class);
+    }
+
+    private static ResponseEntity<BatchTransferResDto> batchResponse(int legs) {
+        List<TransferLegResult> results = new ArrayList<>(legs);
+        for (long i = 0; i < legs; i++) {
+            results.add(TransferLegResult.success(WithdrawReqDto.builder()
+                    .fromAccountId(i)
+                    .toAccountId(i + 1)
+                    .amount(1000L)
+                    .build()));
+        }
+        return ResponseEntity.ok(BatchTransferResDto.fromResults(results));
+    }
+}
@@ -0,0 +1,44 @@
+package com.practice1.benchmarks;
+
+import com.practice1.backend.account_auth.entity.AccountAuthEntity;
+import com.practice1.backend.account_auth.repository.AccountAuthJpaRepository;
+import com.practice1.backend.account_auth.service.AccountAuthService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountAuthService#verifyPassword} at several BCrypt costs. The repository is stubbed so the
+ * numbers show the hashing cost each transfer pays, not the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordVerificationBenchmark {
+    private static final long ACCOUNT_ID = 1L;
+    private static final String RAW_PASSWORD = "1234";
+
+    @Param({"10", "12", "14"})
+    public int cost;
+
+    private AccountAuthService accountAuthService;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        AccountAuthEntity auth = Mockito.mock(AccountAuthEntity.class);
+        Mockito.when(auth.getPassword()).thenReturn(encoder.encode(RAW_PASSWORD));
+
+        AccountAuthJpaRepository repository = Mockito.mock(AccountAuthJpaRepository.class);
+        Mockito.when(repository.findById(ACCOUNT_ID)).thenReturn(Optional.of(auth));
+        accountAuthService = new AccountAuthService(repository, encoder, null);
+    }
+
+    @Benchmark
+    public void verifyPassword() {
+        accountAuthService.verifyPassword(ACCOUNT_ID, RAW_PASSWORD);
+    }
+}
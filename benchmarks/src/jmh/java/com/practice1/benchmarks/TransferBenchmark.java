@@ -0,0 +1,153 @@
+package com.practice1.benchmarks;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.entity.AccountEntity;
+import com.practice1.backend.account.repository.AccountJpaRepository;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.TransferWritePath;
+import com.practice1.benchmarks.support.TransferBenchmarkConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccountService#withdrawAndDeposit} against H2 for each write path. A small account pool
+ * makes every transfer contend for the same rows; a large pool spreads them out.
+ *
+ * <p>{@link #crossedTransfer} runs half of the threads A→B and the other half B→A. Taking the row locks
+ * in request order is the behaviour before transfers locked in ascending id order: crossed pairs deadlock
+ * and only get out through H2's lock timeout, which the {@code failed} counter reports next to the
+ * {@code succeeded} one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class TransferBenchmark {
+
+    @Benchmark
+    public void withdrawAndDeposit(WritePathState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = random.nextInt(state.accountCount) + 1;
+        long to = (from + random.nextInt(state.accountCount - 1)) % state.accountCount + 1;
+        state.accountService.withdrawAndDeposit(WithdrawReqDto.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(1L)
+                .build());
+    }
+
+    @Benchmark
+    public void crossedTransfer(CrossedPairState state, Outcomes outcomes, ThreadParams threadParams) {
+        boolean forward = threadParams.getThreadIndex() % 2 == 0;
+        long from = forward ? 1L : 2L;
+        long to = forward ? 2L : 1L;
+        try {
+            if (state.lockOrder.equals("ASCENDING_ID")) {
+                state.accountService.withdrawAndDeposit(WithdrawReqDto.builder()
+                        .fromAccountId(from)
+                        .toAccountId(to)
+                        .amount(1L)
+                        .build());
+            } else {
+                state.transferInRequestOrder(from, to);
+            }
+            outcomes.succeeded++;
+        } catch (PessimisticLockingFailureException | PersistenceException e) {
+            outcomes.failed++;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WritePathState {
+
+        @Param({"PESSIMISTIC", "CONDITIONAL_UPDATE"})
+        public String writePath;
+
+        @Param({"2", "1000"})
+        public int accountCount;
+
+        private AnnotationConfigApplicationContext context;
+        private AccountService accountService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            TransferProperties transferProperties = new TransferProperties();
+            transferProperties.setWritePath(TransferWritePath.valueOf(writePath));
+            context = startContext(transferProperties, accountCount);
+            accountService = context.getBean(AccountService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CrossedPairState {
+
+        @Param({"REQUEST_ORDER", "ASCENDING_ID"})
+        public String lockOrder;
+
+        private AnnotationConfigApplicationContext context;
+        private AccountService accountService;
+        private AccountJpaRepository accountJpaRepository;
+        private TransactionTemplate transactionTemplate;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = startContext(new TransferProperties(), 2);
+            accountService = context.getBean(AccountService.class);
+            accountJpaRepository = context.getBean(AccountJpaRepository.class);
+            transactionTemplate = new TransactionTemplate(context.getBean(JpaTransactionManager.class));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        private void transferInRequestOrder(long fromId, long toId) {
+            transactionTemplate.executeWithoutResult(status -> {
+                AccountEntity from = accountJpaRepository.findByIdForUpdate(fromId).orElseThrow();
+                AccountEntity to = accountJpaRepository.findByIdForUpdate(toId).orElseThrow();
+                from.withdraw(1L);
+                to.deposit(1L);
+            });
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long succeeded;
+        public long failed;
+    }
+
+    private static AnnotationConfigApplicationContext startContext(TransferProperties transferProperties, int accountCount) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(TransferProperties.class, () -> transferProperties);
+        context.register(TransferBenchmarkConfig.class);
+        context.refresh();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into customer (customer_name, birth) values ('bench', CURRENT_DATE)");
+        List<Object[]> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) accounts.add(new Object[]{1L, 1_000_000_000_000L});
+        jdbcTemplate.batchUpdate(
+                "insert into account (customer_id, balance, version, created_at) values (?, ?, 0, CURRENT_TIMESTAMP)",
+                accounts);
+        return context;
+    }
+}
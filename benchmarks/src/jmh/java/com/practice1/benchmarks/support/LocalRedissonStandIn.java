@@ -0,0 +1,64 @@
+package com.practice1.benchmarks.support;
+
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process stand-in for the parts of {@link RedissonClient} the lock facade uses, so the facade's
+ * own overhead can be measured without a Redis round trip.
+ */
+public final class LocalRedissonStandIn {
+
+    private LocalRedissonStandIn() {
+    }
+
+    public static RedissonClient create() {
+        Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+        return (RedissonClient) Proxy.newProxyInstance(RedissonClient.class.getClassLoader(),
+                new Class<?>[]{RedissonClient.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getLock" -> lock((String) args[0], locks.computeIfAbsent((String) args[0], k -> new ReentrantLock()));
+                    case "getMultiLock" -> multiLock((RLock[]) args[0]);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static RLock lock(String name, ReentrantLock delegate) {
+        return (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(),
+                new Class<?>[]{RLock.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "tryLock" -> args.length == 3
+                            ? delegate.tryLock((Long) args[0], (TimeUnit) args[2])
+                            : delegate.tryLock();
+                    case "unlock" -> {
+                        delegate.unlock();
+                        yield null;
+                    }
+                    case "isHeldByCurrentThread" -> delegate.isHeldByCurrentThread();
+                    case "getName" -> name;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static RLock multiLock(RLock[] locks) {
+        return (RLock) Proxy.newProxyInstance(RLock.class.getClassLoader(),
+                new Class<?>[]{RLock.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("tryLock") || args.length != 3) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long deadline = System.nanoTime() + ((TimeUnit) args[2]).toNanos((Long) args[0]);
+                    for (int i = 0; i < locks.length; i++) {
+                        long remaining = Math.max(0, deadline - System.nanoTime());
+                        if (!locks[i].tryLock(remaining, -1, TimeUnit.NANOSECONDS)) {
+                            for (int j = 0; j < i; j++) locks[j].unlock();
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+    }
+}
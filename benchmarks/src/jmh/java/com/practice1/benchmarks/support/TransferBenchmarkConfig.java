@@ -0,0 +1,106 @@
+package com.practice1.benchmarks.support;
+
+import com.practice1.backend.account.cache.AccountReadCache;
+import com.practice1.backend.account.config.AccountPageProperties;
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.repository.AccountBalanceSlotJpaRepository;
+import com.practice1.backend.account.repository.AccountJpaRepository;
+import com.practice1.backend.account.repository.AccountPendingCreditJpaRepository;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.credit.PendingCreditLedger;
+import com.practice1.backend.account.service.slot.AccountBalanceSlots;
+import com.practice1.backend.common.idempotency.service.IdempotencyRecorder;
+import com.practice1.backend.common.metrics.StageMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Minimal context for the transfer write path: JPA on H2 and the real {@link AccountService},
+ * without Redis. Wired by hand because Boot auto-configuration does not survive the shaded JMH jar.
+ * The read cache is stubbed since transfers only notify it after commit, and no idempotency claim is ever bound.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(basePackageClasses = AccountJpaRepository.class)
+public class TransferBenchmarkConfig {
+
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName("org.h2.Driver");
+        config.setJdbcUrl("jdbc:h2:mem:transfer;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(8);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.practice1.backend");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.jdbc.batch_size", 100,
+                "hibernate.order_updates", true,
+                "hibernate.order_inserts", true));
+        return factory;
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    public AccountBalanceSlots accountBalanceSlots(AccountJpaRepository accountJpaRepository,
+                                                   AccountBalanceSlotJpaRepository slotRepository,
+                                                   TransferProperties transferProperties,
+                                                   JpaTransactionManager transactionManager) {
+        return new AccountBalanceSlots(accountJpaRepository, slotRepository, transferProperties,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    public PendingCreditLedger pendingCreditLedger(AccountPendingCreditJpaRepository pendingCreditRepository,
+                                                   AccountJpaRepository accountJpaRepository,
+                                                   TransferProperties transferProperties,
+                                                   JpaTransactionManager transactionManager) {
+        return new PendingCreditLedger(pendingCreditRepository, accountJpaRepository, transferProperties,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    public AccountService accountService(AccountJpaRepository accountJpaRepository,
+                                         TransferProperties transferProperties,
+                                         ApplicationEventPublisher eventPublisher,
+                                         AccountBalanceSlots accountBalanceSlots,
+                                         PendingCreditLedger pendingCreditLedger,
+                                         JpaTransactionManager transactionManager) {
+        return new AccountService(accountJpaRepository, transferProperties,
+                Mockito.mock(AccountReadCache.class), eventPublisher, new StageMetrics(new SimpleMeterRegistry()),
+                accountBalanceSlots, pendingCreditLedger, new AccountPageProperties(),
+                new TransactionTemplate(transactionManager), new IdempotencyRecorder(null));
+    }
+}
@@ -0,0 +1,95 @@
+package com.practice1.loadtest;
+
+import com.practice1.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on an in-memory H2 database and an embedded Redis, then seeds customers,
+ * accounts and credentials for the workload.
+ */
+public class LoadTestEnvironment implements AutoCloseable {
+    public static final String PASSWORD = "123456";
+    // Cost 4 keeps credential checks out of the measurement; BCrypt cost has its own JMH benchmark.
+    private static final int SEED_BCRYPT_COST = 4;
+
+    private final RedisServer redisServer;
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoadTestEnvironment(LoadTestSettings settings) throws IOException {
+        int redisPort = freePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=" + Math.max(10, settings.concurrency()),
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.redis.host=127.0.0.1",
+                        "spring.redis.port=" + redisPort,
+                        "practice.auth.token.ttl-seconds=3600",
+                        "practice.auth.token.single-node=true",
+                        "logging.level.root=WARN")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(settings);
+    }
+
+    public int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public long totalBalance() {
+        return jdbcTemplate.queryForObject("select (select coalesce(sum(balance), 0) from account)"
+                + " + (select coalesce(sum(balance), 0) from account_balance_slot)"
+                + " + (select coalesce(sum(amount), 0) from account_pending_credit)", Long.class);
+    }
+
+    private void seed(LoadTestSettings settings) {
+        List<Object[]> customers = new ArrayList<>(settings.customers());
+        for (int i = 1; i <= settings.customers(); i++) customers.add(new Object[]{"customer-" + i});
+        jdbcTemplate.batchUpdate("insert into customer (customer_name, birth) values (?, CURRENT_DATE)", customers);
+
+        List<Object[]> accounts = new ArrayList<>(settings.accounts());
+        for (int i = 0; i < settings.accounts(); i++) {
+            accounts.add(new Object[]{i / settings.accountsPerCustomer() + 1, settings.initialBalance()});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into account (customer_id, balance, version, created_at) values (?, ?, 0, CURRENT_TIMESTAMP)",
+                accounts);
+
+        String hash = new BCryptPasswordEncoder(SEED_BCRYPT_COST).encode(PASSWORD);
+        List<Object[]> credentials = new ArrayList<>(settings.accounts());
+        for (long id = 1; id <= settings.accounts(); id++) credentials.add(new Object[]{id, hash});
+        jdbcTemplate.batchUpdate(
+                "insert into account_auth (account_id, psword, account_status, fail_count, token_epoch) " +
+                        "values (?, ?, 'ACTIVE', 0, 0)",
+                credentials);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        redisServer.stop();
+    }
+}
@@ -0,0 +1,34 @@
+package com.practice1.loadtest;
+
+/**
+ * Workload knobs, read from {@code -Dloadtest.*} system properties so runs are reproducible from the
+ * command line.
+ */
+public record LoadTestSettings(
+        int accounts,
+        int accountsPerCustomer,
+        double skew,
+        double readRatio,
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        long initialBalance,
+        long seed) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.accounts", 1_000),
+                Integer.getInteger("loadtest.accountsPerCustomer", 10),
+                Double.parseDouble(System.getProperty("loadtest.skew", "1.1")),
+                Double.parseDouble(System.getProperty("loadtest.readRatio", "0.5")),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Integer.getInteger("loadtest.warmupSeconds", 5),
+                Integer.getInteger("loadtest.durationSeconds", 30),
+                Long.getLong("loadtest.initialBalance", 1_000_000L),
+                Long.getLong("loadtest.seed", 42L));
+    }
+
+    public int customers() {
+        return (accounts + accountsPerCustomer - 1) / accountsPerCustomer;
+    }
+}
@@ -0,0 +1,186 @@
+package com.practice1.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for {@code /account/transfer} and the balance endpoints. Receivers and
+ * read targets follow a Zipf distribution so a few low-numbered accounts take most of the traffic,
+ * senders are uniform. Every worker has its own seeded {@link Random}, so a run with the same settings
+ * issues the same request sequence per worker.
+ */
+public class TransferLoadTest {
+    private static final long MAX_TRACKED_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ZipfDistribution zipf;
+    private final String baseUrl;
+    private final String[] tokens;
+
+    private final Map<String, Map<Integer, LongAdder>> statuses = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        boolean conserved;
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(settings)) {
+            long before = environment.totalBalance();
+            new TransferLoadTest(settings, environment.port()).run();
+            long after = environment.totalBalance();
+            conserved = before == after;
+            System.out.printf("balance conservation: before=%d after=%d %s%n", before, after, conserved ? "OK" : "VIOLATED");
+        }
+        System.exit(conserved ? 0 : 1);
+    }
+
+    TransferLoadTest(LoadTestSettings settings, int port) {
+        this.settings = settings;
+        this.zipf = new ZipfDistribution(settings.accounts(), settings.skew());
+        this.baseUrl = "http://localhost:" + port + "/account";
+        this.tokens = new String[settings.accounts() + 1];
+    }
+
+    void run() throws Exception {
+        System.out.printf("accounts=%d skew=%.2f readRatio=%.2f concurrency=%d warmup=%ds duration=%ds seed=%d%n",
+                settings.accounts(), settings.skew(), settings.readRatio(), settings.concurrency(),
+                settings.warmupSeconds(), settings.durationSeconds(), settings.seed());
+        issueTokens();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            phase(executor, settings.warmupSeconds(), false);
+            statuses.clear();
+            List<Histogram[]> measured = phase(executor, settings.durationSeconds(), true);
+
+            Histogram transfers = new Histogram(MAX_TRACKED_NANOS, 3);
+            Histogram reads = new Histogram(MAX_TRACKED_NANOS, 3);
+            for (Histogram[] worker : measured) {
+                transfers.add(worker[0]);
+                reads.add(worker[1]);
+            }
+            report("transfer", transfers);
+            report("read", reads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void issueTokens() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int id = 1; id <= settings.accounts(); id++) {
+                int accountId = id;
+                futures.add(executor.submit(() -> {
+                    HttpRequest request = post("/" + accountId + "/auth", null,
+                            "{\"rawPassword\":\"" + LoadTestEnvironment.PASSWORD + "\"}");
+                    HttpResponse<String> response = send(request);
+                    while (response.statusCode() == 503) {
+                        Thread.sleep(10);
+                        response = send(request);
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("auth failed for " + accountId + ": " + response.body());
+                    }
+                    tokens[accountId] = objectMapper.readTree(response.body()).get("token").asText();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Histogram[]> phase(ExecutorService executor, int seconds, boolean measured) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<Histogram[]>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Random random = new Random(settings.seed() * 31 + i + (measured ? settings.concurrency() : 0));
+            futures.add(executor.submit(() -> worker(random, deadline)));
+        }
+        List<Histogram[]> results = new ArrayList<>();
+        for (Future<Histogram[]> future : futures) results.add(future.get());
+        return results;
+    }
+
+    private Histogram[] worker(Random random, long deadline) throws Exception {
+        Histogram transfers = new Histogram(MAX_TRACKED_NANOS, 3);
+        Histogram reads = new Histogram(MAX_TRACKED_NANOS, 3);
+        while (System.nanoTime() < deadline) {
+            boolean read = random.nextDouble() < settings.readRatio();
+            HttpRequest request = read ? readRequest(random) : transferRequest(random);
+            long start = System.nanoTime();
+            HttpResponse<String> response = send(request);
+            long elapsed = Math.min(System.nanoTime() - start, MAX_TRACKED_NANOS);
+            (read ? reads : transfers).recordValue(elapsed);
+            statuses.computeIfAbsent(read ? "read" : "transfer", k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(response.statusCode(), k -> new LongAdder())
+                    .increment();
+        }
+        return new Histogram[]{transfers, reads};
+    }
+
+    private HttpRequest transferRequest(Random random) {
+        long from = random.nextInt(settings.accounts()) + 1;
+        long to = zipf.sample(random);
+        if (to == from) to = from % settings.accounts() + 1;
+        long amount = random.nextInt(100) + 1;
+        String body = "{\"fromAccountId\":" + from + ",\"toAccountId\":" + to + ",\"amount\":" + amount +
+                ",\"authToken\":\"" + tokens[(int) from] + "\"}";
+        return post("/transfer", new UUID(random.nextLong(), random.nextLong()).toString(), body);
+    }
+
+    private HttpRequest readRequest(Random random) {
+        int accountId = zipf.sample(random);
+        String path = random.nextBoolean()
+                ? "/balance/" + accountId
+                : "/" + ((accountId - 1) / settings.accountsPerCustomer() + 1);
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String idempotencyKey, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotencyKey != null) builder.header("Idempotency-Key", idempotencyKey);
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(String operation, Histogram histogram) {
+        long count = histogram.getTotalCount();
+        System.out.printf("%-8s count=%d throughput=%.1f/s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms statuses=%s%n",
+                operation, count, count / (double) settings.durationSeconds(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                new TreeMap<>(statuses.getOrDefault(operation, Map.of())));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.practice1.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf sampler over ranks {@code 1..n}: rank {@code k} is drawn with probability proportional to
+ * {@code 1 / k^skew}. A skew of 0 is uniform.
+ */
+public class ZipfDistribution {
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double skew) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, skew);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) cumulative[i] /= sum;
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
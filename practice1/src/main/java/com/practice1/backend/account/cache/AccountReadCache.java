@@ -0,0 +1,164 @@
+package com.practice1.backend.account.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.practice1.backend.account.config.AccountCacheProperties;
+import com.practice1.backend.account.dto.response.AccountPageResDto;
+import com.practice1.backend.account.event.AccountBalanceChangedEvent;
+import com.practice1.backend.account.repository.AccountJpaRepository;
+import com.practice1.backend.common.cache.TwoLevelCache;
+import com.practice1.backend.common.config.DataSourceRoutingProperties;
+import com.practice1.backend.common.datasource.ReplicaRouting;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+@Component
+@RequiredArgsConstructor
+public class AccountReadCache implements MeterBinder {
+    private static final String CHANNEL = "cache:account:evict";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedissonClient redisson;
+    private final ObjectMapper objectMapper;
+    private final AccountJpaRepository accountJpaRepository;
+    private final AccountCacheProperties cacheProperties;
+    private final DataSourceRoutingProperties routingProperties;
+
+    private final Cache<Long, Long> customerIds = Caffeine.newBuilder().maximumSize(100_000).build();
+    private TwoLevelCache<Long> balances;
+    private TwoLevelCache<AccountPageResDto> accountPages;
+    private Cache<Long, Boolean> recentBalanceWrites;
+    private Cache<Long, Boolean> recentListWrites;
+
+    @PostConstruct
+    void init() {
+        balances = create("balance", String::valueOf, Long::valueOf);
+        accountPages = create("accountPage", this::writeJson, this::readAccountPage);
+        recentBalanceWrites = recentWrites();
+        recentListWrites = recentWrites();
+        redisson.getTopic(CHANNEL, StringCodec.INSTANCE).addListener(String.class, (channel, message) -> {
+            String[] evicted = message.split(":");
+            Long key = Long.valueOf(evicted[1]);
+            if (balances.getName().equals(evicted[0])) {
+                balances.evictLocal(key);
+                recentBalanceWrites.put(key, Boolean.TRUE);
+            } else {
+                accountPages.evictLocal(key);
+                recentListWrites.put(key, Boolean.TRUE);
+            }
+        });
+    }
+
+    public Long getBalance(Long accountId, Supplier<Long> loader) {
+        return read(balances, recentBalanceWrites, accountId, loader);
+    }
+
+    /**
+     * Only the default-sized first page is cached: it is what almost every caller asks for, and it is the only page
+     * that a per-customer eviction can invalidate without tracking cursors.
+     */
+    public AccountPageResDto getAccountPage(Long customerId, boolean firstPage, Supplier<AccountPageResDto> loader) {
+        return firstPage
+                ? read(accountPages, recentListWrites, customerId, loader)
+                : readAccountsUncached(customerId, loader);
+    }
+
+    public <V> V readAccountsUncached(Long customerId, Supplier<V> loader) {
+        if (recentListWrites.getIfPresent(customerId) != null) ReplicaRouting.forcePrimary();
+        return loader.get();
+    }
+
+    public List<TwoLevelCache<?>> caches() {
+        return List.of(balances, accountPages);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TwoLevelCache<?> cache : caches()) {
+            cacheCounter(registry, cache, "near_hit", TwoLevelCache::getNearHits);
+            cacheCounter(registry, cache, "remote_hit", TwoLevelCache::getRemoteHits);
+            cacheCounter(registry, cache, "miss", TwoLevelCache::getMisses);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBalanceChanged(AccountBalanceChangedEvent event) {
+        Set<Long> customers = new HashSet<>();
+        for (Long accountId : event.getAccountIds()) {
+            recentBalanceWrites.put(accountId, Boolean.TRUE);
+            balances.evict(accountId);
+            Long customerId = customerIds.get(accountId, accountJpaRepository::findCustomerIdByAccountId);
+            if (customerId != null) customers.add(customerId);
+        }
+        for (Long customerId : customers) {
+            recentListWrites.put(customerId, Boolean.TRUE);
+            accountPages.evict(customerId);
+        }
+    }
+
+    // Replicas may still lag a write this node or a peer just evicted: those reads skip both tiers and go to primary,
+    // so a value read just before the write can neither be served nor written back.
+    private <V> V read(TwoLevelCache<V> cache, Cache<Long, Boolean> recentWrites, Long key, Supplier<V> loader) {
+        if (recentWrites.getIfPresent(key) == null) return cache.get(key, loader);
+        ReplicaRouting.forcePrimary();
+        return loader.get();
+    }
+
+    private Cache<Long, Boolean> recentWrites() {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMillis(routingProperties.getReadYourWritesMillis()))
+                .build();
+    }
+
+    private <V> TwoLevelCache<V> create(String name, Function<V, String> encoder,
+                                        Function<String, V> decoder) {
+        return new TwoLevelCache<>(name,
+                cacheProperties.getNearMaxSize(),
+                Duration.ofMillis(cacheProperties.getNearTtlMillis()),
+                Duration.ofSeconds(cacheProperties.getRemoteTtlSeconds()),
+                redisTemplate, CHANNEL, encoder, decoder);
+    }
+
+    private void cacheCounter(MeterRegistry registry, TwoLevelCache<?> cache, String result,
+                              ToDoubleFunction<TwoLevelCache<?>> count) {
+        FunctionCounter.builder("practice.cache.requests", cache, count)
+                .tag("cache", cache.getName())
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private String writeJson(AccountPageResDto page) {
+        try {
+            return objectMapper.writeValueAsString(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private AccountPageResDto readAccountPage(String json) {
+        try {
+            return objectMapper.readValue(json, AccountPageResDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
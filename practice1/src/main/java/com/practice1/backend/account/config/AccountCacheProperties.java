@@ -0,0 +1,17 @@
+package com.practice1.backend.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "practice.cache.account")
+public class AccountCacheProperties {
+
+    private long nearMaxSize = 100_000;
+    private long nearTtlMillis = 1_000;
+    private long remoteTtlSeconds = 30;
+}
@@ -0,0 +1,21 @@
+package com.practice1.backend.account.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "practice.account.page")
+public class AccountPageProperties {
+
+    private int defaultSize = 100;
+    private int maxSize = 1_000;
+
+    public int pageSize(Integer requested) {
+        if (requested == null) return defaultSize;
+        return Math.max(1, Math.min(requested, maxSize));
+    }
+}
@@ -0,0 +1,81 @@
+package com.practice1.backend.account.config;
+
+import com.practice1.backend.account.service.CreditMode;
+import com.practice1.backend.account.service.TransferMode;
+import com.practice1.backend.account.service.TransferWritePath;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "practice.transfer")
+public class TransferProperties {
+
+    private TransferMode mode = TransferMode.LOCKING;
+    private TransferWritePath writePath = TransferWritePath.PESSIMISTIC;
+    private CreditMode creditMode = CreditMode.LOCKED;
+    private SingleWriter singleWriter = new SingleWriter();
+    private Adaptive adaptive = new Adaptive();
+    private Async async = new Async();
+    private Retry retry = new Retry();
+    private BalanceSlots balanceSlots = new BalanceSlots();
+    private PendingCredits pendingCredits = new PendingCredits();
+
+    @Getter
+    @Setter
+    public static class SingleWriter {
+        private int workers = 8;
+        private int maxBatchSize = 200;
+        private int queueCapacity = 10_000;
+        private long timeoutMillis = 5_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Adaptive {
+        private double conflictThreshold = 3.0;
+        private long halfLifeMillis = 10_000;
+        private int optimisticAttempts = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        private int workers = 16;
+        private int queueCapacity = 1_000;
+        private long recoveryDelayMillis = 5_000;
+        private int recoveryBatchSize = 100;
+        private int maxAttempts = 5;
+        private long processingTimeoutMillis = 60_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttempts = 3;
+        private long baseDelayMillis = 100;
+        private long maxDelayMillis = 2_000;
+        private double budgetRatio = 0.1;
+        private int minRetriesPerSecond = 10;
+        private int maxBurst = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class BalanceSlots {
+        private Map<Long, Integer> accounts = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class PendingCredits {
+        private long foldDelayMillis = 1_000;
+        private int foldBatchSize = 500;
+    }
+}
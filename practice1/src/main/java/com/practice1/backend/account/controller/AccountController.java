@@ -1,15 +1,27 @@
 package com.practice1.backend.account.controller;
 
+import com.practice1.backend.account.dto.request.BatchTransferReqDto;
 import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.dto.response.AccountPageResDto;
 import com.practice1.backend.account.dto.response.AccountResDto;
+import com.practice1.backend.account.dto.response.BatchTransferResDto;
+import com.practice1.backend.account.dto.response.TransferStatusResDto;
 import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.AccountTransferService;
+import com.practice1.backend.account.service.async.AsyncTransferService;
+import com.practice1.backend.account.service.export.AccountExportService;
 import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
 import com.practice1.backend.common.idempotency.annotation.Idempotent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,11 +29,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
+    private final AccountTransferService accountTransferService;
     private final GlobalAccountLockFacade lockFacade;
+    private final AsyncTransferService asyncTransferService;
+    private final AccountExportService accountExportService;
 
     @GetMapping("/{id}")
-    public ResponseEntity<List<AccountResDto>> getAccountList(@PathVariable Long id){
-        return ResponseEntity.ok(accountService.getAccountList(id));
+    public ResponseEntity<List<AccountResDto>> getAccountList(@PathVariable Long id,
+                                                              @RequestParam(required = false) Long cursor,
+                                                              @RequestParam(required = false) Integer size){
+        AccountPageResDto page = accountService.getAccountList(id, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.getAccounts());
+    }
+
+    @GetMapping(value = "/{id}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@PathVariable Long id){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> accountExportService.export(id, out));
     }
 
     @GetMapping("/balance/{account_id}")
@@ -32,8 +64,28 @@ public class AccountController {
     @Idempotent
     @PostMapping("/transfer")
     public ResponseEntity<?> transfer(@RequestBody @Valid WithdrawReqDto req ) throws InterruptedException {
-        lockFacade.transferWithGlobalLock(req);
+        accountTransferService.transfer(req);
         return ResponseEntity.noContent().build();
     }
 
+    @Idempotent
+    @PostMapping("/transfer/async")
+    public ResponseEntity<TransferStatusResDto> transferAsync(@RequestBody @Valid WithdrawReqDto req) throws InterruptedException {
+        TransferStatusResDto accepted = asyncTransferService.submit(req);
+        return ResponseEntity.accepted()
+                .location(URI.create("/account/transfer/" + accepted.getTransferId()))
+                .body(accepted);
+    }
+
+    @GetMapping("/transfer/{transfer_id}")
+    public ResponseEntity<TransferStatusResDto> getTransferStatus(@PathVariable Long transfer_id) {
+        return ResponseEntity.ok(asyncTransferService.getStatus(transfer_id));
+    }
+
+    @Idempotent
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<BatchTransferResDto> transferBatch(@RequestBody @Valid BatchTransferReqDto req) throws InterruptedException {
+        return ResponseEntity.ok(BatchTransferResDto.fromResults(lockFacade.transferBatchWithGlobalLock(req.getTransfers())));
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.practice1.backend.account.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferReqDto {
+
+    @NotEmpty
+    @Size(max = 5000)
+    private List<@Valid WithdrawReqDto> transfers;
+}
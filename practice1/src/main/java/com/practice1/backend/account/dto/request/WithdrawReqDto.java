@@ -18,8 +18,9 @@ public class WithdrawReqDto {
     @NotNull private Long fromAccountId;
     @NotNull private Long toAccountId;
 
-    @Min(1)
+    @NotNull @Min(1)
     private Long amount;
     @Size(min = 6, max = 6)
     private String rawPassword;
+    private String authToken;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.practice1.backend.account.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPageResDto {
+    private List<AccountResDto> accounts;
+    private Long nextCursor;
+
+    /**
+     * {@code rows} is fetched with one extra row; its presence means there is a next page, which starts after the
+     * last account returned here.
+     */
+    public static AccountPageResDto of(List<AccountResDto> rows, int size) {
+        if (rows.size() <= size) return new AccountPageResDto(rows, null);
+        List<AccountResDto> accounts = List.copyOf(rows.subList(0, size));
+        return new AccountPageResDto(accounts, accounts.get(size - 1).getAccountId());
+    }
+}
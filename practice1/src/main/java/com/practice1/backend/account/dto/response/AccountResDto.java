@@ -4,9 +4,11 @@ import com.practice1.backend.account.entity.AccountEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
 @AllArgsConstructor
 public class AccountResDto {
     private Long accountId;
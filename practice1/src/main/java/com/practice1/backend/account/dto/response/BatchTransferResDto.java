@@ -0,0 +1,32 @@
+package com.practice1.backend.account.dto.response;
+
+import com.practice1.backend.account.service.TransferLegResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class BatchTransferResDto {
+    private int succeeded;
+    private int failed;
+    private List<TransferLegResDto> results;
+
+    public static BatchTransferResDto fromResults(List<TransferLegResult> results) {
+        List<TransferLegResDto> legs = new ArrayList<>(results.size());
+        int succeeded = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isSuccess()) succeeded++;
+            legs.add(TransferLegResDto.fromResult(i, results.get(i)));
+        }
+        return BatchTransferResDto.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(legs)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.practice1.backend.account.dto.response;
+
+import com.practice1.backend.account.service.TransferLegResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class TransferLegResDto {
+    private int index;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private Long amount;
+    private String status;
+    private String message;
+
+    public static TransferLegResDto fromResult(int index, TransferLegResult result) {
+        return TransferLegResDto.builder()
+                .index(index)
+                .fromAccountId(result.getLeg().getFromAccountId())
+                .toAccountId(result.getLeg().getToAccountId())
+                .amount(result.getLeg().getAmount())
+                .status(result.isSuccess() ? "SUCCESS" : "FAILED")
+                .message(result.isSuccess() ? null : result.getError().getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.practice1.backend.account.dto.response;
+
+import com.practice1.backend.account.entity.TransferRequestEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class TransferStatusResDto {
+    private Long transferId;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private Long amount;
+    private String status;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static TransferStatusResDto fromEntity(TransferRequestEntity entity) {
+        return TransferStatusResDto.builder()
+                .transferId(entity.getTransferId())
+                .fromAccountId(entity.getFromAccountId())
+                .toAccountId(entity.getToAccountId())
+                .amount(entity.getAmount())
+                .status(entity.getStatus())
+                .failureReason(entity.getFailureReason())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.practice1.backend.account.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "account_balance_slot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_balance_slot", columnNames = {"account_id", "slot"}))
+public class AccountBalanceSlotEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "slot_id")
+    private Long slotId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "balance", nullable = false)
+    private Long balance = 0L;
+
+    public AccountBalanceSlotEntity(Long accountId, int slot) {
+        this.accountId = accountId;
+        this.slot = slot;
+    }
+
+    public long drain() {
+        long drained = balance;
+        balance = 0L;
+        return drained;
+    }
+}
@@ -1,7 +1,9 @@
 package com.practice1.backend.account.entity;
 
+import com.practice1.backend.account.exception.InsufficientBalanceException;
 import com.practice1.backend.customer.entity.CustomerEntity;
 import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.*;
@@ -9,7 +11,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Entity
-@Table(name = "account")
+@Table(name = "account", indexes = @Index(name = "idx_account_customer", columnList = "customer_id, account_id"))
 public class AccountEntity {
 
     @Id
@@ -24,6 +26,10 @@ public class AccountEntity {
     @Column(name = "balance", nullable = false)
     private Long balance = 0L;
 
+    @ColumnDefault("0")
+    @Column(name = "balance_slots", nullable = false)
+    private int balanceSlots;
+
     @Version
     private Long version;
 
@@ -31,11 +37,20 @@ public class AccountEntity {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    public void withdraw(Long balance) {
-        this.balance -= balance;
+    public void withdraw(Long amount) {
+        if (this.balance < amount) throw new InsufficientBalanceException(accountId);
+        this.balance -= amount;
+    }
+
+    public void deposit(Long amount) {
+        this.balance += amount;
+    }
+
+    public boolean isSharded() {
+        return balanceSlots > 0;
     }
 
-    public void deposit(Long balance) {
-        this.balance += balance;
+    public void shardBalance(int slots) {
+        this.balanceSlots = slots;
     }
 }
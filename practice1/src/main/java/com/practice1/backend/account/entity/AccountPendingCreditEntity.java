@@ -0,0 +1,36 @@
+package com.practice1.backend.account.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "account_pending_credit", indexes = @Index(name = "idx_account_pending_credit_account", columnList = "account_id, credit_id"))
+public class AccountPendingCreditEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "credit_id")
+    private Long creditId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public AccountPendingCreditEntity(Long accountId, Long amount) {
+        this.accountId = accountId;
+        this.amount = amount;
+    }
+}
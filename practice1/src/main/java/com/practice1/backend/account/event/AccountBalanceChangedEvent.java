@@ -0,0 +1,12 @@
+package com.practice1.backend.account.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public class AccountBalanceChangedEvent {
+    private final Set<Long> accountIds;
+}
@@ -9,6 +9,10 @@ public class AccountLockTimeoutException extends PracticeException {
         super(MESSAGE);
     }
 
+    public AccountLockTimeoutException(String message) {
+        super(message);
+    }
+
     @Override
     public int getStatusCode() {
         return 409;
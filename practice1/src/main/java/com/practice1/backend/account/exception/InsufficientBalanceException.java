@@ -0,0 +1,13 @@
+package com.practice1.backend.account.exception;
+
+import com.practice1.backend.common.exception.PracticeException;
+
+public class InsufficientBalanceException extends PracticeException {
+    private static final String MESSAGE = "Insufficient balance. id = ";
+    public InsufficientBalanceException(Long accountId) {
+        super(MESSAGE + accountId);
+    }
+
+    @Override
+    public int getStatusCode() { return 400;}
+}
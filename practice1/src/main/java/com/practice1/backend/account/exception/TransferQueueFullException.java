@@ -0,0 +1,13 @@
+package com.practice1.backend.account.exception;
+
+import com.practice1.backend.common.exception.PracticeException;
+
+public class TransferQueueFullException extends PracticeException {
+    private static final String MESSAGE = "Transfer queue is full. id = ";
+    public TransferQueueFullException(Long accountId) {
+        super(MESSAGE + accountId);
+    }
+
+    @Override
+    public int getStatusCode() { return 503;}
+}
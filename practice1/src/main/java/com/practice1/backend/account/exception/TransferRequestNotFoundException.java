@@ -0,0 +1,13 @@
+package com.practice1.backend.account.exception;
+
+import com.practice1.backend.common.exception.PracticeException;
+
+public class TransferRequestNotFoundException extends PracticeException {
+    private static final String MESSAGE = "Transfer request not found. id = ";
+    public TransferRequestNotFoundException(Long transferId) {
+        super(MESSAGE + transferId);
+    }
+
+    @Override
+    public int getStatusCode() { return 404;}
+}
@@ -0,0 +1,23 @@
+package com.practice1.backend.account.repository;
+
+import com.practice1.backend.account.entity.AccountBalanceSlotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+public interface AccountBalanceSlotJpaRepository extends JpaRepository<AccountBalanceSlotEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountBalanceSlotEntity s where s.accountId = :accountId order by s.slot")
+    List<AccountBalanceSlotEntity> findAllByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("update AccountBalanceSlotEntity s set s.balance = s.balance + :amount " +
+            "where s.accountId = :accountId and s.slot = :slot")
+    int credit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") Long amount);
+}
@@ -1,25 +1,72 @@
 package com.practice1.backend.account.repository;
 
+import com.practice1.backend.account.dto.response.AccountResDto;
 import com.practice1.backend.account.entity.AccountEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AccountJpaRepository extends JpaRepository<AccountEntity, Long> {
-    List<AccountEntity> findByCustomer_CustomerId(Long customerId);
+    String TOTAL_BALANCE = "a.balance " +
+            "+ (SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlotEntity s WHERE s.accountId = a.accountId) " +
+            "+ (SELECT COALESCE(SUM(p.amount), 0) FROM AccountPendingCreditEntity p WHERE p.accountId = a.accountId)";
 
-    @Query("SELECT a.balance FROM AccountEntity a WHERE  a.accountId = :accountId")
+    @Query("SELECT new com.practice1.backend.account.dto.response.AccountResDto(a.accountId, " + TOTAL_BALANCE + ") " +
+            "FROM AccountEntity a WHERE a.customer.customerId = :customerId AND a.accountId > :cursor " +
+            "ORDER BY a.accountId")
+    List<AccountResDto> findPageByCustomerId(@Param("customerId") Long customerId, @Param("cursor") Long cursor,
+                                             Pageable pageable);
+
+    // MySQL Connector/J only honours a positive fetch size with useCursorFetch=true; otherwise it buffers the result.
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.practice1.backend.account.dto.response.AccountResDto(a.accountId, " + TOTAL_BALANCE + ") " +
+            "FROM AccountEntity a WHERE a.customer.customerId = :customerId ORDER BY a.accountId")
+    Stream<AccountResDto> streamByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT " + TOTAL_BALANCE + " FROM AccountEntity a WHERE  a.accountId = :accountId")
     Long findBalanceByAccountId(@Param("accountId") Long accountId);
 
+    @Query("SELECT a.balance FROM AccountEntity a WHERE a.accountId = :accountId")
+    Long findRowBalanceByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT a.balanceSlots FROM AccountEntity a WHERE a.accountId = :accountId")
+    Integer findBalanceSlotsByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT a.accountId FROM AccountEntity a WHERE a.accountId IN :accountIds")
+    List<Long> findExistingIds(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query("SELECT a.customer.customerId FROM AccountEntity a WHERE a.accountId = :accountId")
+    Long findCustomerIdByAccountId(@Param("accountId") Long accountId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select a from AccountEntity a where a.accountId = :accountId")
     Optional<AccountEntity> findByIdForUpdate(Long accountId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from AccountEntity a where a.accountId in :accountIds order by a.accountId")
+    List<AccountEntity> findAllByIdForUpdate(@Param("accountIds") Collection<Long> accountIds);
+
+    @Modifying
+    @Query("update AccountEntity a set a.balance = a.balance - :amount, a.version = a.version + 1 " +
+            "where a.accountId = :accountId and a.balance >= :amount")
+    int debitIfSufficient(@Param("accountId") Long accountId, @Param("amount") Long amount);
+
+    @Modifying
+    @Query("update AccountEntity a set a.balance = a.balance + :amount, a.version = a.version + 1 " +
+            "where a.accountId = :accountId")
+    int credit(@Param("accountId") Long accountId, @Param("amount") Long amount);
+
     @Lock(LockModeType.OPTIMISTIC)
     @Query("select a from AccountEntity a where a.accountId = :id")
     Optional<AccountEntity> findByIdOptimistic(Long id);
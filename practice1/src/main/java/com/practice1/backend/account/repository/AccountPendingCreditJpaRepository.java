@@ -0,0 +1,23 @@
+package com.practice1.backend.account.repository;
+
+import com.practice1.backend.account.entity.AccountPendingCreditEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+public interface AccountPendingCreditJpaRepository extends JpaRepository<AccountPendingCreditEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from AccountPendingCreditEntity p where p.accountId = :accountId order by p.creditId")
+    List<AccountPendingCreditEntity> findAllByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    boolean existsByAccountId(Long accountId);
+
+    @Query("select p.accountId from AccountPendingCreditEntity p group by p.accountId order by min(p.creditId)")
+    List<Long> findAccountIdsWithPending(Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.practice1.backend.account.repository;
+
+import com.practice1.backend.account.entity.TransferRequestEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransferRequestJpaRepository extends JpaRepository<TransferRequestEntity, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("update TransferRequestEntity t set t.status = 'PROCESSING', t.attempts = t.attempts + 1, " +
+            "t.updatedAt = CURRENT_TIMESTAMP where t.transferId = :transferId and t.status = 'PENDING'")
+    int claim(@Param("transferId") Long transferId);
+
+    @Transactional
+    @Modifying
+    @Query("update TransferRequestEntity t set t.status = :to, t.failureReason = :failureReason, t.updatedAt = CURRENT_TIMESTAMP " +
+            "where t.transferId = :transferId and t.status = :from and t.attempts = :attempts")
+    int transition(@Param("transferId") Long transferId, @Param("attempts") int attempts, @Param("from") String from,
+                   @Param("to") String to, @Param("failureReason") String failureReason);
+
+    @Transactional
+    @Modifying
+    @Query("update TransferRequestEntity t set t.status = 'PENDING', t.updatedAt = CURRENT_TIMESTAMP " +
+            "where t.status = 'PROCESSING' and t.updatedAt < :before")
+    int releaseStale(@Param("before") LocalDateTime before);
+
+    @Query("select t.transferId from TransferRequestEntity t " +
+            "where t.status = 'PENDING' and t.updatedAt < :before order by t.transferId")
+    List<Long> findPendingIds(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -1,27 +1,46 @@
 package com.practice1.backend.account.service;
 
+import com.practice1.backend.account.cache.AccountReadCache;
+import com.practice1.backend.account.config.AccountPageProperties;
+import com.practice1.backend.account.config.TransferProperties;
 import com.practice1.backend.account.dto.request.WithdrawReqDto;
-import com.practice1.backend.account.dto.response.AccountResDto;
+import com.practice1.backend.account.dto.response.AccountPageResDto;
 import com.practice1.backend.account.entity.AccountEntity;
+import com.practice1.backend.account.event.AccountBalanceChangedEvent;
 import com.practice1.backend.account.exception.AccountNotAvailableException;
 import com.practice1.backend.account.exception.AccountNotFoundException;
+import com.practice1.backend.account.exception.InsufficientBalanceException;
 import com.practice1.backend.account.repository.AccountJpaRepository;
+import com.practice1.backend.account.service.credit.PendingCreditLedger;
+import com.practice1.backend.account.service.slot.AccountBalanceSlots;
 import com.practice1.backend.account_auth.entity.AccountAuthEntity;
 import com.practice1.backend.account_auth.exception.AuthException;
 import com.practice1.backend.account_auth.repository.AccountAuthJpaRepository;
-import com.practice1.backend.account_auth.service.AccountAuthService;
+import com.practice1.backend.common.idempotency.service.IdempotencyRecorder;
+import com.practice1.backend.common.metrics.Stage;
+import com.practice1.backend.common.metrics.StageMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.PessimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.LockTimeoutException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,29 +48,248 @@ import java.util.stream.Collectors;
 public class AccountService {
 
     private final AccountJpaRepository accountJpaRepository;
-    private final AccountAuthService accountAuthService;
+    private final TransferProperties transferProperties;
+    private final AccountReadCache accountReadCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StageMetrics stageMetrics;
+    private final AccountBalanceSlots balanceSlots;
+    private final PendingCreditLedger pendingCredits;
+    private final AccountPageProperties pageProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyRecorder idempotencyRecorder;
 
     @Transactional(readOnly = true)
-    public List<AccountResDto> getAccountList(Long id) {
-        return accountJpaRepository.findByCustomer_CustomerId(id).stream()
-                .map(AccountResDto::fromEntity)
-                .toList();
+    public AccountPageResDto getAccountList(Long customerId, Long cursor, Integer size) {
+        int pageSize = pageProperties.pageSize(size);
+        boolean firstPage = cursor == null && pageSize == pageProperties.getDefaultSize();
+        return accountReadCache.getAccountPage(customerId, firstPage, () -> AccountPageResDto.of(
+                accountJpaRepository.findPageByCustomerId(customerId, cursor == null ? 0L : cursor,
+                        PageRequest.of(0, pageSize + 1)),
+                pageSize));
     }
 
     @Transactional(readOnly = true)
     public Long getBalance(Long accountId) {
-        return accountJpaRepository.findBalanceByAccountId(accountId);
+        return accountReadCache.getBalance(accountId, () -> accountJpaRepository.findBalanceByAccountId(accountId));
+    }
+
+    public boolean needsCreditLock(Long fromAccountId, Long toAccountId) {
+        if (balanceSlots.isSharded(toAccountId)) return false;
+        return transferProperties.getCreditMode() == CreditMode.LOCKED || fromAccountId.equals(toAccountId);
+    }
+
+    public boolean needsBatchCreditLock(Long fromAccountId, Long toAccountId) {
+        return needsCreditLock(fromAccountId, toAccountId) || creditsAccountRow(toAccountId);
+    }
+
+    public void settleDeferredCredits(WithdrawReqDto req) {
+        settleDeferredCredits(Map.of(req.getFromAccountId(), req.getAmount()));
+    }
+
+    public void settleDeferredCredits(List<WithdrawReqDto> legs) {
+        settleDeferredCredits(legs.stream().collect(Collectors.groupingBy(WithdrawReqDto::getFromAccountId,
+                Collectors.summingLong(WithdrawReqDto::getAmount))));
+    }
+
+    /**
+     * Moves slot and pending-ledger credits into the row of each sender whose row balance is short of what it is about
+     * to send. Every account is settled in a short transaction of its own (row, then slots, then pending rows) before
+     * the transfer starts, so a transfer transaction never sweeps one account while it holds locks on another.
+     */
+    private void settleDeferredCredits(Map<Long, Long> amounts) {
+        new TreeMap<>(amounts).forEach((accountId, amount) -> {
+            Long rowBalance = accountJpaRepository.findRowBalanceByAccountId(accountId);
+            if (rowBalance == null || rowBalance >= amount) return;
+            if (!balanceSlots.isSharded(accountId) && !pendingCredits.hasPending(accountId)) return;
+            transactionTemplate.executeWithoutResult(status -> lockingWrite(() -> accountJpaRepository.findByIdForUpdate(accountId))
+                    .ifPresent(account -> account.deposit(lockingWrite(() ->
+                            (account.isSharded() ? balanceSlots.sweep(accountId) : 0) + pendingCredits.fold(accountId)))));
+        });
     }
 
     @Transactional
     public void withdrawAndDeposit(WithdrawReqDto req) throws AuthException {
-        AccountEntity from = accountJpaRepository.findByIdForUpdate(req.getFromAccountId())
-                .orElseThrow(() -> new AccountNotFoundException(req.getFromAccountId()));
-        accountAuthService.verifyPassword(req.getFromAccountId(), req.getRawPassword());
-        AccountEntity to = accountJpaRepository.findByIdForUpdate(req.getToAccountId())
-                .orElseThrow(() -> new AccountNotFoundException(req.getToAccountId()));
-        from.withdraw(req.getAmount());
-        to.deposit(req.getAmount());
+        if (transferProperties.getWritePath() == TransferWritePath.CONDITIONAL_UPDATE) {
+            withdrawAndDepositConditionally(req);
+            idempotencyRecorder.markApplied();
+            return;
+        }
+        Long fromId = req.getFromAccountId();
+        Long toId = req.getToAccountId();
+        if (needsCreditLock(fromId, toId)) {
+            Map<Long, AccountEntity> accounts = findAllForUpdateInOrder(List.of(fromId, toId));
+            accounts.get(fromId).withdraw(req.getAmount());
+            deposit(accounts.get(toId), toId, req.getAmount());
+        } else {
+            boolean creditFirst = toId < fromId && creditsAccountRow(toId);
+            if (creditFirst) deposit(null, toId, req.getAmount());
+            findAllForUpdateInOrder(List.of(fromId)).get(fromId).withdraw(req.getAmount());
+            if (!creditFirst) deposit(null, toId, req.getAmount());
+        }
+        publishBalanceChanged(req);
+        idempotencyRecorder.markApplied();
+    }
+
+    @Transactional
+    public void withdrawAndDepositOptimistic(WithdrawReqDto req) {
+        Long fromId = req.getFromAccountId();
+        Long toId = req.getToAccountId();
+        // Version-checked updates are written at flush in load order, so rows are loaded (and locked) in id order.
+        if (needsCreditLock(fromId, toId)) {
+            Map<Long, AccountEntity> accounts = new HashMap<>();
+            for (Long accountId : new TreeSet<>(List.of(fromId, toId))) {
+                accounts.put(accountId, accountJpaRepository.findByIdOptimistic(accountId)
+                        .orElseThrow(() -> new AccountNotFoundException(accountId)));
+            }
+            accounts.get(fromId).withdraw(req.getAmount());
+            deposit(accounts.get(toId), toId, req.getAmount());
+        } else {
+            AccountEntity from = accountJpaRepository.findByIdOptimistic(fromId)
+                    .orElseThrow(() -> new AccountNotFoundException(fromId));
+            boolean creditFirst = toId < fromId && creditsAccountRow(toId);
+            if (creditFirst) deposit(null, toId, req.getAmount());
+            from.withdraw(req.getAmount());
+            if (!creditFirst) {
+                accountJpaRepository.flush();
+                deposit(null, toId, req.getAmount());
+            }
+        }
+        publishBalanceChanged(req);
+        idempotencyRecorder.markApplied();
+    }
+
+    private void withdrawAndDepositConditionally(WithdrawReqDto req) {
+        if (!needsCreditLock(req.getFromAccountId(), req.getToAccountId()) && !creditsAccountRow(req.getToAccountId())) {
+            debit(req.getFromAccountId(), req.getAmount());
+            deposit(null, req.getToAccountId(), req.getAmount());
+        } else if (req.getFromAccountId() <= req.getToAccountId()) {
+            debit(req.getFromAccountId(), req.getAmount());
+            credit(req.getToAccountId(), req.getAmount());
+        } else {
+            credit(req.getToAccountId(), req.getAmount());
+            debit(req.getFromAccountId(), req.getAmount());
+        }
+        publishBalanceChanged(req);
+    }
+
+    private void debit(Long accountId, Long amount) {
+        if (lockingWrite(() -> accountJpaRepository.debitIfSufficient(accountId, amount)) == 0) {
+            throw accountJpaRepository.existsById(accountId)
+                    ? new InsufficientBalanceException(accountId)
+                    : new AccountNotFoundException(accountId);
+        }
     }
 
+    private void credit(Long accountId, Long amount) {
+        if (lockingWrite(() -> accountJpaRepository.credit(accountId, amount)) == 0) {
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+
+    @Transactional
+    public List<TransferLegResult> applyTransfers(List<WithdrawReqDto> legs) {
+        Set<Long> accountIds = new TreeSet<>();
+        Set<Long> unlockedCredits = new HashSet<>();
+        for (WithdrawReqDto leg : legs) {
+            accountIds.add(leg.getFromAccountId());
+            if (needsBatchCreditLock(leg.getFromAccountId(), leg.getToAccountId())) accountIds.add(leg.getToAccountId());
+            else unlockedCredits.add(leg.getToAccountId());
+        }
+        Map<Long, AccountEntity> accounts = new HashMap<>();
+        for (AccountEntity account : lockingWrite(() -> accountJpaRepository.findAllByIdForUpdate(accountIds))) {
+            accounts.put(account.getAccountId(), account);
+        }
+        Set<Long> creditable = new HashSet<>(accounts.keySet());
+        unlockedCredits.removeAll(creditable);
+        if (!unlockedCredits.isEmpty()) creditable.addAll(accountJpaRepository.findExistingIds(unlockedCredits));
+
+        List<TransferLegResult> results = new ArrayList<>(legs.size());
+        Set<Long> changed = new HashSet<>();
+        Map<Long, Long> deferredCredits = new TreeMap<>();
+        for (WithdrawReqDto leg : legs) {
+            AccountEntity from = accounts.get(leg.getFromAccountId());
+            AccountEntity to = accounts.get(leg.getToAccountId());
+            if (from == null) {
+                results.add(TransferLegResult.failure(leg, new AccountNotFoundException(leg.getFromAccountId())));
+            } else if (!creditable.contains(leg.getToAccountId())) {
+                results.add(TransferLegResult.failure(leg, new AccountNotFoundException(leg.getToAccountId())));
+            } else if (!hasBalance(from, leg.getAmount(), deferredCredits)) {
+                results.add(TransferLegResult.failure(leg, new InsufficientBalanceException(leg.getFromAccountId())));
+            } else {
+                from.withdraw(leg.getAmount());
+                if (to != null && !to.isSharded()) to.deposit(leg.getAmount());
+                else deferredCredits.merge(leg.getToAccountId(), leg.getAmount(), Long::sum);
+                changed.add(leg.getFromAccountId());
+                changed.add(leg.getToAccountId());
+                results.add(TransferLegResult.success(leg));
+            }
+        }
+        deferredCredits.forEach((accountId, amount) -> deposit(accounts.get(accountId), accountId, amount));
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new AccountBalanceChangedEvent(changed));
+            idempotencyRecorder.markApplied();
+        }
+        return results;
+    }
+
+    private void deposit(AccountEntity to, Long toId, Long amount) {
+        if (to != null && !to.isSharded()) {
+            to.deposit(amount);
+            return;
+        }
+        int slots = to != null ? to.getBalanceSlots() : balanceSlots.slotCount(toId);
+        if (slots > 0) {
+            lockingWrite(() -> {
+                balanceSlots.credit(toId, slots, amount);
+                return null;
+            });
+        } else if (transferProperties.getCreditMode() == CreditMode.PENDING_LEDGER) {
+            if (!accountJpaRepository.existsById(toId)) throw new AccountNotFoundException(toId);
+            pendingCredits.append(toId, amount);
+        } else {
+            credit(toId, amount);
+        }
+    }
+
+    private boolean creditsAccountRow(Long accountId) {
+        return transferProperties.getCreditMode() == CreditMode.ATOMIC_INCREMENT && !balanceSlots.isSharded(accountId);
+    }
+
+    private boolean hasBalance(AccountEntity from, Long amount, Map<Long, Long> deferredCredits) {
+        if (from.getBalance() >= amount) return true;
+        Long deferred = deferredCredits.remove(from.getAccountId());
+        if (deferred != null) from.deposit(deferred);
+        return from.getBalance() >= amount;
+    }
+
+    private void publishBalanceChanged(WithdrawReqDto req) {
+        eventPublisher.publishEvent(new AccountBalanceChangedEvent(new HashSet<>(List.of(req.getFromAccountId(), req.getToAccountId()))));
+    }
+
+    private Map<Long, AccountEntity> findAllForUpdateInOrder(Collection<Long> accountIds) {
+        Map<Long, AccountEntity> accounts = new HashMap<>();
+        for (AccountEntity account : lockingWrite(() -> accountJpaRepository.findAllByIdForUpdate(new TreeSet<>(accountIds)))) {
+            accounts.put(account.getAccountId(), account);
+        }
+        for (Long accountId : accountIds) {
+            if (!accounts.containsKey(accountId)) throw new AccountNotFoundException(accountId);
+        }
+        return accounts;
+    }
+
+    private <T> T lockingWrite(Supplier<T> statement) {
+        stageMetrics.timeCommit();
+        long start = System.nanoTime();
+        String outcome = StageMetrics.ERROR;
+        try {
+            T result = statement.get();
+            outcome = StageMetrics.ACQUIRED;
+            return result;
+        } catch (PessimisticLockingFailureException | LockTimeoutException e) {
+            outcome = StageMetrics.TIMEOUT;
+            throw e;
+        } finally {
+            stageMetrics.record(Stage.DB_LOCK_WAIT, outcome, System.nanoTime() - start);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.practice1.backend.account.service;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.lock.AccountContentionTracker;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.account.service.queue.SingleWriterTransferQueue;
+import com.practice1.backend.account_auth.service.TransferCredentialVerifier;
+import com.practice1.backend.common.metrics.StageTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class AccountTransferService {
+    private static final String TRANSFER_TIMER = "practice.transfer";
+
+    private final TransferProperties transferProperties;
+    private final GlobalAccountLockFacade lockFacade;
+    private final SingleWriterTransferQueue singleWriterQueue;
+    private final TransferCredentialVerifier credentialVerifier;
+    private final AccountService accountService;
+    private final AccountContentionTracker contentionTracker;
+    private final MeterRegistry meterRegistry;
+
+    public void transfer(WithdrawReqDto req) throws InterruptedException {
+        StageTimings.accounts(req.getFromAccountId(), req.getToAccountId());
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            credentialVerifier.verify(req.getFromAccountId(), req.getRawPassword(), req.getAuthToken());
+            execute(req);
+        } catch (RuntimeException | InterruptedException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordTransfer(failure, System.nanoTime() - start);
+        }
+    }
+
+    public void transferAuthenticated(WithdrawReqDto req) throws InterruptedException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            execute(req);
+        } catch (RuntimeException | InterruptedException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordTransfer(failure, System.nanoTime() - start);
+        }
+    }
+
+    private void execute(WithdrawReqDto req) throws InterruptedException {
+        switch (transferProperties.getMode()) {
+            case SINGLE_WRITER -> {
+                // The writer thread commits on its own, so a caller's transaction takes the lock path instead.
+                if (TransactionSynchronizationManager.isActualTransactionActive()) lockFacade.transferWithGlobalLock(req);
+                else singleWriterQueue.transfer(req);
+            }
+            case ADAPTIVE -> transferAdaptively(req);
+            default -> lockFacade.transferWithGlobalLock(req);
+        }
+    }
+
+    private void recordTransfer(Throwable failure, long nanos) {
+        meterRegistry.timer(TRANSFER_TIMER,
+                        "mode", transferProperties.getMode().name().toLowerCase(),
+                        "outcome", TransferOutcome.of(failure).getTag())
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void transferAdaptively(WithdrawReqDto req) throws InterruptedException {
+        Long fromId = req.getFromAccountId();
+        Long toId = req.getToAccountId();
+        boolean joinsOuterTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (!joinsOuterTransaction && !contentionTracker.isContended(fromId) && !contentionTracker.isContended(toId)) {
+            int attempts = transferProperties.getAdaptive().getOptimisticAttempts();
+            accountService.settleDeferredCredits(req);
+            for (int attempt = 0; attempt < attempts; attempt++) {
+                try {
+                    accountService.withdrawAndDepositOptimistic(req);
+                    contentionTracker.recordSuccess(fromId);
+                    contentionTracker.recordSuccess(toId);
+                    return;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (e.getIdentifier() instanceof Long conflictedId) {
+                        contentionTracker.recordConflict(conflictedId);
+                    } else {
+                        contentionTracker.recordConflict(fromId);
+                        contentionTracker.recordConflict(toId);
+                    }
+                } catch (PessimisticLockingFailureException e) {
+                    contentionTracker.recordConflict(fromId);
+                    contentionTracker.recordConflict(toId);
+                    break;
+                }
+            }
+        }
+        lockFacade.transferWithGlobalLock(req);
+    }
+}
@@ -0,0 +1,7 @@
+package com.practice1.backend.account.service;
+
+public enum CreditMode {
+    LOCKED,
+    ATOMIC_INCREMENT,
+    PENDING_LEDGER
+}
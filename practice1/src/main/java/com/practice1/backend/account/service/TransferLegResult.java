@@ -0,0 +1,26 @@
+package com.practice1.backend.account.service;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.common.exception.PracticeException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransferLegResult {
+    private final WithdrawReqDto leg;
+    private final PracticeException error;
+
+    public static TransferLegResult success(WithdrawReqDto leg) {
+        return new TransferLegResult(leg, null);
+    }
+
+    public static TransferLegResult failure(WithdrawReqDto leg, PracticeException error) {
+        return new TransferLegResult(leg, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
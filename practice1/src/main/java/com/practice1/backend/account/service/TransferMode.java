@@ -0,0 +1,7 @@
+package com.practice1.backend.account.service;
+
+public enum TransferMode {
+    LOCKING,
+    SINGLE_WRITER,
+    ADAPTIVE
+}
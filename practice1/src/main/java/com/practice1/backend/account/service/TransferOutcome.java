@@ -0,0 +1,42 @@
+package com.practice1.backend.account.service;
+
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.exception.AccountNotAvailableException;
+import com.practice1.backend.account.exception.AccountNotFoundException;
+import com.practice1.backend.account.exception.InsufficientBalanceException;
+import com.practice1.backend.account.exception.TransferQueueFullException;
+import com.practice1.backend.account_auth.exception.AuthBusyException;
+import com.practice1.backend.account_auth.exception.AuthException;
+import com.practice1.backend.account_auth.exception.AuthTokenInvalidException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import javax.persistence.LockTimeoutException;
+
+@Getter
+@RequiredArgsConstructor
+public enum TransferOutcome {
+    SUCCESS("success"),
+    AUTH_FAILURE("auth_failure"),
+    ACCOUNT_LOCKED("account_locked"),
+    NOT_FOUND("not_found"),
+    INSUFFICIENT_BALANCE("insufficient_balance"),
+    LOCK_TIMEOUT("lock_timeout"),
+    REJECTED("rejected"),
+    ERROR("error");
+
+    private final String tag;
+
+    public static TransferOutcome of(Throwable failure) {
+        if (failure == null) return SUCCESS;
+        if (failure instanceof AuthException || failure instanceof AuthTokenInvalidException) return AUTH_FAILURE;
+        if (failure instanceof AccountNotAvailableException) return ACCOUNT_LOCKED;
+        if (failure instanceof AccountNotFoundException) return NOT_FOUND;
+        if (failure instanceof InsufficientBalanceException) return INSUFFICIENT_BALANCE;
+        if (failure instanceof AccountLockTimeoutException || failure instanceof LockTimeoutException
+                || failure instanceof PessimisticLockingFailureException) return LOCK_TIMEOUT;
+        if (failure instanceof AuthBusyException || failure instanceof TransferQueueFullException) return REJECTED;
+        return ERROR;
+    }
+}
@@ -0,0 +1,6 @@
+package com.practice1.backend.account.service;
+
+public enum TransferWritePath {
+    PESSIMISTIC,
+    CONDITIONAL_UPDATE
+}
@@ -0,0 +1,157 @@
+package com.practice1.backend.account.service.async;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.dto.response.TransferStatusResDto;
+import com.practice1.backend.account.entity.TransferRequestEntity;
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.exception.TransferQueueFullException;
+import com.practice1.backend.account.exception.TransferRequestNotFoundException;
+import com.practice1.backend.account.repository.TransferRequestJpaRepository;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.AccountTransferService;
+import com.practice1.backend.account_auth.service.TransferCredentialVerifier;
+import com.practice1.backend.common.exception.PracticeException;
+import com.practice1.backend.common.idempotency.service.IdempotencyRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.LockTimeoutException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.practice1.backend.account.entity.TransferRequestEntity.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncTransferService {
+    private static final String LOCK_ATTEMPTS_EXHAUSTED = "Account locks were unavailable, transfer was not applied";
+
+    private final TransferRequestJpaRepository transferRequestJpaRepository;
+    private final AccountTransferService accountTransferService;
+    private final AccountService accountService;
+    private final TransferCredentialVerifier credentialVerifier;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyRecorder idempotencyRecorder;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        TransferProperties.Async config = transferProperties.getAsync();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "async-transfer-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    public TransferStatusResDto submit(WithdrawReqDto req) throws InterruptedException {
+        credentialVerifier.verify(req.getFromAccountId(), req.getRawPassword(), req.getAuthToken());
+        if (executor.getQueue().remainingCapacity() == 0) throw new TransferQueueFullException(req.getFromAccountId());
+
+        TransferRequestEntity request = transactionTemplate.execute(status -> {
+            TransferRequestEntity saved = transferRequestJpaRepository.save(
+                    new TransferRequestEntity(req.getFromAccountId(), req.getToAccountId(), req.getAmount()));
+            idempotencyRecorder.markApplied();
+            return saved;
+        });
+        dispatch(request.getTransferId());
+        return TransferStatusResDto.fromEntity(request);
+    }
+
+    public TransferStatusResDto getStatus(Long transferId) {
+        return transferRequestJpaRepository.findById(transferId)
+                .map(TransferStatusResDto::fromEntity)
+                .orElseThrow(() -> new TransferRequestNotFoundException(transferId));
+    }
+
+    @Scheduled(fixedDelayString = "${practice.transfer.async.recovery-delay-millis:5000}")
+    public void recoverPending() {
+        TransferProperties.Async config = transferProperties.getAsync();
+        int released = transferRequestJpaRepository.releaseStale(LocalDateTime.now()
+                .minusNanos(TimeUnit.MILLISECONDS.toNanos(config.getProcessingTimeoutMillis())));
+        if (released > 0) log.warn("Released {} async transfers stuck in PROCESSING", released);
+        int capacity = Math.min(executor.getQueue().remainingCapacity(), config.getRecoveryBatchSize());
+        if (capacity == 0) return;
+        LocalDateTime before = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(config.getRecoveryDelayMillis()));
+        transferRequestJpaRepository.findPendingIds(before, PageRequest.of(0, capacity)).forEach(this::dispatch);
+    }
+
+    private void dispatch(Long transferId) {
+        try {
+            executor.execute(() -> process(transferId));
+        } catch (RejectedExecutionException e) {
+            log.debug("Async transfer {} left pending for recovery", transferId);
+        }
+    }
+
+    private void process(Long transferId) {
+        if (transferRequestJpaRepository.claim(transferId) == 0) return;
+        TransferRequestEntity request = transferRequestJpaRepository.findById(transferId).orElseThrow();
+        int attempt = request.getAttempts();
+        WithdrawReqDto req = WithdrawReqDto.builder()
+                .fromAccountId(request.getFromAccountId())
+                .toAccountId(request.getToAccountId())
+                .amount(request.getAmount())
+                .build();
+        try {
+            accountService.settleDeferredCredits(req);
+            applyOnce(transferId, attempt, req);
+        } catch (AccountLockTimeoutException | LockTimeoutException | PessimisticLockingFailureException e) {
+            if (attempt < transferProperties.getAsync().getMaxAttempts() || Thread.currentThread().isInterrupted()) {
+                transferRequestJpaRepository.transition(transferId, attempt, PROCESSING, PENDING, null);
+            } else {
+                transferRequestJpaRepository.transition(transferId, attempt, PROCESSING, FAILED, LOCK_ATTEMPTS_EXHAUSTED);
+            }
+        } catch (PracticeException e) {
+            transferRequestJpaRepository.transition(transferId, attempt, PROCESSING, FAILED, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Async transfer {} failed: {}", transferId, e.getMessage(), e);
+            transferRequestJpaRepository.transition(transferId, attempt, PROCESSING, FAILED, "Unexpected error occurred");
+        }
+    }
+
+    /**
+     * Refreshes the claim in a short transaction of its own, then runs the transfer with no transaction bound so the
+     * lock facade keeps its retries and releases the account locks only after the balance update has committed.
+     * SUCCEEDED is written afterwards, conditional on this attempt still owning the claim; the refresh keeps the stale
+     * sweep away for {@code processing-timeout-millis}, which therefore has to stay well above the facade's lock waits.
+     */
+    private void applyOnce(Long transferId, int attempt, WithdrawReqDto req) {
+        if (transferRequestJpaRepository.transition(transferId, attempt, PROCESSING, PROCESSING, null) == 0) {
+            log.warn("Async transfer {} attempt {} was released before it ran and has been skipped", transferId, attempt);
+            return;
+        }
+        try {
+            accountTransferService.transferAuthenticated(req);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountLockTimeoutException();
+        }
+        if (transferRequestJpaRepository.transition(transferId, attempt, PROCESSING, SUCCEEDED, null) == 0) {
+            log.error("Async transfer {} attempt {} was applied after its claim had been released", transferId, attempt);
+        }
+    }
+}
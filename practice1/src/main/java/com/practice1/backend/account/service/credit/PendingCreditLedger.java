@@ -0,0 +1,54 @@
+package com.practice1.backend.account.service.credit;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.entity.AccountPendingCreditEntity;
+import com.practice1.backend.account.repository.AccountJpaRepository;
+import com.practice1.backend.account.repository.AccountPendingCreditJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Credits appended here never touch the receiving account row. They are folded into the balance in batches by
+ * {@link #foldPending()}, or on demand by {@code AccountService#settleDeferredCredits} when the account needs them for
+ * a withdrawal. Both paths lock the account row before its pending rows, in a transaction of their own.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingCreditLedger {
+
+    private final AccountPendingCreditJpaRepository pendingCreditRepository;
+    private final AccountJpaRepository accountJpaRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public void append(Long accountId, Long amount) {
+        pendingCreditRepository.save(new AccountPendingCreditEntity(accountId, amount));
+    }
+
+    public boolean hasPending(Long accountId) {
+        return pendingCreditRepository.existsByAccountId(accountId);
+    }
+
+    public long fold(Long accountId) {
+        List<AccountPendingCreditEntity> pending = pendingCreditRepository.findAllByAccountIdForUpdate(accountId);
+        if (pending.isEmpty()) return 0;
+        long folded = 0;
+        for (AccountPendingCreditEntity credit : pending) folded += credit.getAmount();
+        pendingCreditRepository.deleteAllInBatch(pending);
+        return folded;
+    }
+
+    @Scheduled(fixedDelayString = "${practice.transfer.pending-credits.fold-delay-millis:1000}")
+    public void foldPending() {
+        PageRequest batch = PageRequest.of(0, transferProperties.getPendingCredits().getFoldBatchSize());
+        for (Long accountId : pendingCreditRepository.findAccountIdsWithPending(batch)) {
+            transactionTemplate.executeWithoutResult(status -> accountJpaRepository.findByIdForUpdate(accountId)
+                    .ifPresent(account -> account.deposit(fold(accountId))));
+        }
+    }
+}
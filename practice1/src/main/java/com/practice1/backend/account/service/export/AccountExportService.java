@@ -0,0 +1,58 @@
+package com.practice1.backend.account.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.cache.AccountReadCache;
+import com.practice1.backend.account.dto.response.AccountResDto;
+import com.practice1.backend.account.repository.AccountJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a customer's accounts as NDJSON while the rows are still being fetched, so neither the result set nor the
+ * response body is ever held in memory as a whole. All rows come from one statement, i.e. one consistent snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountExportService {
+
+    private final AccountJpaRepository accountJpaRepository;
+    private final AccountReadCache accountReadCache;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(Long customerId, OutputStream out) {
+        accountReadCache.readAccountsUncached(customerId, () -> {
+            write(customerId, out);
+            return null;
+        });
+    }
+
+    private void write(Long customerId, OutputStream out) {
+        try (Stream<AccountResDto> accounts = accountJpaRepository.streamByCustomerId(customerId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the response stream; closing the generator must only flush it.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<AccountResDto> rows = accounts.iterator();
+            boolean first = true;
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+                if (first) {
+                    generator.flush();
+                    first = false;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.practice1.backend.account.service.lock;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.practice1.backend.account.config.TransferProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Exponentially decaying conflict score per account. Scores untouched for {@value #EXPIRE_AFTER_HALF_LIVES}
+ * half-lives have decayed to noise and are dropped, so accounts that never succeed again do not pile up.
+ */
+@Component
+public class AccountContentionTracker {
+    private static final double FORGET_BELOW = 0.05;
+    private static final int EXPIRE_AFTER_HALF_LIVES = 10;
+
+    private final TransferProperties transferProperties;
+    private final Cache<Long, Score> scores;
+
+    public AccountContentionTracker(TransferProperties transferProperties) {
+        this.transferProperties = transferProperties;
+        this.scores = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMillis(halfLifeMillis() * EXPIRE_AFTER_HALF_LIVES))
+                .build();
+    }
+
+    public boolean isContended(Long accountId) {
+        Score score = scores.getIfPresent(accountId);
+        return score != null && score.current(System.currentTimeMillis(), halfLifeMillis())
+                >= transferProperties.getAdaptive().getConflictThreshold();
+    }
+
+    public double contention(Long accountId) {
+        Score score = scores.getIfPresent(accountId);
+        return score == null ? 0 : score.current(System.currentTimeMillis(), halfLifeMillis());
+    }
+
+    public void recordConflict(Long accountId) {
+        long now = System.currentTimeMillis();
+        scores.get(accountId, id -> new Score(now)).add(now, halfLifeMillis());
+    }
+
+    public void recordSuccess(Long accountId) {
+        Score score = scores.getIfPresent(accountId);
+        if (score != null && score.current(System.currentTimeMillis(), halfLifeMillis()) < FORGET_BELOW) {
+            scores.asMap().remove(accountId, score);
+        }
+    }
+
+    private long halfLifeMillis() {
+        return transferProperties.getAdaptive().getHalfLifeMillis();
+    }
+
+    private static final class Score {
+        private double value;
+        private long updatedAt;
+
+        private Score(long now) {
+            this.updatedAt = now;
+        }
+
+        synchronized void add(long now, long halfLifeMillis) {
+            value = decayed(now, halfLifeMillis) + 1;
+            updatedAt = now;
+        }
+
+        synchronized double current(long now, long halfLifeMillis) {
+            return decayed(now, halfLifeMillis);
+        }
+
+        private double decayed(long now, long halfLifeMillis) {
+            return value * Math.pow(0.5, (double) Math.max(0, now - updatedAt) / halfLifeMillis);
+        }
+    }
+}
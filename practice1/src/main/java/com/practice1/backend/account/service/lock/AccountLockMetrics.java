@@ -0,0 +1,37 @@
+package com.practice1.backend.account.service.lock;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class AccountLockMetrics implements MeterBinder {
+    private final LongAdder redisLockCalls = new LongAdder();
+    private final LongAdder localLockWaits = new LongAdder();
+    private final LongAdder localLockTimeouts = new LongAdder();
+
+    void redisLockCalled() { redisLockCalls.increment(); }
+
+    void localLockWaited() { localLockWaits.increment(); }
+
+    void localLockTimedOut() { localLockTimeouts.increment(); }
+
+    public long getRedisLockCalls() { return redisLockCalls.sum(); }
+
+    public long getLocalLockWaits() { return localLockWaits.sum(); }
+
+    public long getLocalLockTimeouts() { return localLockTimeouts.sum(); }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("practice.lock.redis.calls", this, AccountLockMetrics::getRedisLockCalls)
+                .register(registry);
+        FunctionCounter.builder("practice.lock.local.waits", this, AccountLockMetrics::getLocalLockWaits)
+                .register(registry);
+        FunctionCounter.builder("practice.lock.local.timeouts", this, AccountLockMetrics::getLocalLockTimeouts)
+                .register(registry);
+    }
+}
@@ -1,42 +1,194 @@
 package com.practice1.backend.account.service.lock;
 
+import com.practice1.backend.account.config.TransferProperties;
 import com.practice1.backend.account.dto.request.WithdrawReqDto;
 import com.practice1.backend.account.exception.AccountLockTimeoutException;
 import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.account.service.TransferOutcome;
+import com.practice1.backend.account_auth.service.TransferCredentialVerifier;
+import com.practice1.backend.common.exception.PracticeException;
+import com.practice1.backend.common.metrics.Stage;
+import com.practice1.backend.common.metrics.StageMetrics;
 import lombok.RequiredArgsConstructor;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.dao.PessimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.LockTimeoutException;
-import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class GlobalAccountLockFacade {
+    private static final String LOCK_PREFIX = "account:";
+    private static final long LOCK_WAIT_MILLIS = 3_000;
+    private static final long LEASE_MILLIS = 10_000;
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final String RETRY_BUDGET_EXHAUSTED = "Transfer retry budget exhausted, retry later";
+
     private final RedissonClient redisson;
     private final AccountService accountService;
+    private final TransferCredentialVerifier credentialVerifier;
+    private final LocalAccountLocks localAccountLocks;
+    private final AccountLockMetrics lockMetrics;
+    private final StageMetrics stageMetrics;
+    private final TransferProperties transferProperties;
+    private final AccountContentionTracker contentionTracker;
+    private final TransferRetryBudget retryBudget;
 
-    @Retryable(
-            retryFor = {LockTimeoutException.class, PessimisticLockingFailureException.class},
-            backoff = @Backoff(delay = 100, multiplier = 2)
-    )
-    @Transactional
     public void transferWithGlobalLock(WithdrawReqDto req) throws AccountLockTimeoutException, InterruptedException {
-        RLock lock = redisson.getLock("account:" + req.getFromAccountId());
-        boolean locked = false;
+        List<Long> accountIds = accountService.needsCreditLock(req.getFromAccountId(), req.getToAccountId())
+                ? List.of(req.getFromAccountId(), req.getToAccountId())
+                : List.of(req.getFromAccountId());
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        retryBudget.recordAttempt();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                executeWithAccountLocks(accountIds, LEASE_MILLIS, () -> {
+                    accountService.settleDeferredCredits(req);
+                    accountService.withdrawAndDeposit(req);
+                    return null;
+                });
+                return;
+            } catch (LockTimeoutException | PessimisticLockingFailureException e) {
+                accountIds.forEach(contentionTracker::recordConflict);
+                if (!retryable || attempt >= transferProperties.getRetry().getMaxAttempts()) {
+                    throw new AccountLockTimeoutException();
+                }
+                if (!retryBudget.tryAcquireRetry()) throw new AccountLockTimeoutException(RETRY_BUDGET_EXHAUSTED);
+                Thread.sleep(backoffMillis(attempt, accountIds));
+            }
+        }
+    }
+
+    public List<TransferLegResult> transferBatchWithGlobalLock(List<WithdrawReqDto> legs) throws InterruptedException {
+        Map<Credential, CompletableFuture<Void>> verifications = new HashMap<>();
+        for (WithdrawReqDto leg : legs) {
+            Credential credential = new Credential(leg.getFromAccountId(), leg.getRawPassword(), leg.getAuthToken());
+            if (verifications.containsKey(credential)) continue;
+            try {
+                verifications.put(credential, credentialVerifier.submit(credential.accountId(), credential.rawPassword(), credential.authToken()));
+            } catch (PracticeException e) {
+                verifications.put(credential, CompletableFuture.failedFuture(e));
+            }
+        }
+        Map<Credential, PracticeException> authFailures = new HashMap<>();
+        for (Map.Entry<Credential, CompletableFuture<Void>> verification : verifications.entrySet()) {
+            try {
+                credentialVerifier.await(verification.getValue());
+            } catch (PracticeException e) {
+                authFailures.put(verification.getKey(), e);
+            }
+        }
+
+        TransferLegResult[] results = new TransferLegResult[legs.size()];
+        List<Integer> authorized = new ArrayList<>();
+        Set<Long> accountIds = new HashSet<>();
+        for (int i = 0; i < legs.size(); i++) {
+            WithdrawReqDto leg = legs.get(i);
+            PracticeException authFailure = authFailures.get(new Credential(leg.getFromAccountId(), leg.getRawPassword(), leg.getAuthToken()));
+            if (authFailure != null) {
+                results[i] = TransferLegResult.failure(leg, authFailure);
+                continue;
+            }
+            authorized.add(i);
+            accountIds.add(leg.getFromAccountId());
+            if (accountService.needsBatchCreditLock(leg.getFromAccountId(), leg.getToAccountId())) accountIds.add(leg.getToAccountId());
+        }
+        if (authorized.isEmpty()) return Arrays.asList(results);
+
+        try {
+            executeWithAccountLocks(accountIds, -1, () -> {
+                accountService.settleDeferredCredits(authorized.stream().map(legs::get).toList());
+                for (int from = 0; from < authorized.size(); from += BATCH_CHUNK_SIZE) {
+                    List<Integer> indexes = authorized.subList(from, Math.min(from + BATCH_CHUNK_SIZE, authorized.size()));
+                    List<WithdrawReqDto> chunk = indexes.stream().map(legs::get).toList();
+                    try {
+                        List<TransferLegResult> applied = accountService.applyTransfers(chunk);
+                        for (int i = 0; i < indexes.size(); i++) results[indexes.get(i)] = applied.get(i);
+                    } catch (PessimisticLockingFailureException e) {
+                        for (int index : indexes) {
+                            results[index] = TransferLegResult.failure(legs.get(index), new AccountLockTimeoutException());
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (LockTimeoutException e) {
+            throw new AccountLockTimeoutException();
+        }
+        return Arrays.asList(results);
+    }
+
+    private <T> T executeWithAccountLocks(Collection<Long> accountIds, long leaseMillis, Supplier<T> action) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(LOCK_WAIT_MILLIS);
+        List<ReentrantLock> localLocks = localAccountLocks.tryLockAll(accountIds, LOCK_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        long localAcquired = System.nanoTime();
+        stageMetrics.record(Stage.LOCAL_LOCK_WAIT, localLocks == null ? StageMetrics.TIMEOUT : StageMetrics.ACQUIRED,
+                localAcquired - start);
+        if (localLocks == null) throw new LockTimeoutException();
         try {
-            locked = lock.tryLock(3, 10, TimeUnit.SECONDS);
-            if (!locked) throw new LockTimeoutException();
-            accountService.withdrawAndDeposit(req);
+            List<RLock> locks = orderedLocks(accountIds);
+            RLock lock = locks.size() == 1 ? locks.get(0) : redisson.getMultiLock(locks.toArray(RLock[]::new));
+            long remainingMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            lockMetrics.redisLockCalled();
+            boolean acquired = lock.tryLock(remainingMillis, leaseMillis, TimeUnit.MILLISECONDS);
+            long redisAcquired = System.nanoTime();
+            stageMetrics.record(Stage.DISTRIBUTED_LOCK_WAIT, acquired ? StageMetrics.ACQUIRED : StageMetrics.TIMEOUT,
+                    redisAcquired - localAcquired);
+            if (!acquired) throw new LockTimeoutException();
+            Throwable failure = null;
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                unlock(locks);
+                stageMetrics.record(Stage.LOCK_HOLD, TransferOutcome.of(failure).getTag(), System.nanoTime() - redisAcquired);
+            }
         } finally {
-            if (locked && lock.isHeldByCurrentThread()) lock.unlock();
+            localAccountLocks.unlockAll(localLocks);
         }
     }
-}
 
+    private long backoffMillis(int attempt, List<Long> accountIds) {
+        TransferProperties.Retry retry = transferProperties.getRetry();
+        double contention = accountIds.stream().mapToDouble(contentionTracker::contention).max().orElse(0);
+        double scale = 1 + contention / transferProperties.getAdaptive().getConflictThreshold();
+        double ceiling = Math.min(retry.getMaxDelayMillis(), retry.getBaseDelayMillis() * Math.pow(2, attempt - 1) * scale);
+        return ThreadLocalRandom.current().nextLong((long) ceiling + 1);
+    }
+
+    private List<RLock> orderedLocks(Collection<Long> accountIds) {
+        return new TreeSet<>(accountIds).stream()
+                .map(id -> redisson.getLock(LOCK_PREFIX + id))
+                .toList();
+    }
 
+    private void unlock(List<RLock> locks) {
+        for (RLock lock : locks) {
+            if (lock.isHeldByCurrentThread()) lock.unlock();
+        }
+    }
+
+    private record Credential(Long accountId, String rawPassword, String authToken) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.practice1.backend.account.service.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues same-node contenders for an account locally so only one of them at a time waits on the distributed lock.
+ * A call spanning more than {@value #MAX_STRIPES} stripes (a large batch) would stall most single transfers on this
+ * node, so it queues on a lock of its own instead and leaves per-account exclusion to the distributed lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalAccountLocks {
+    private static final int STRIPES = 1024;
+    private static final int MAX_STRIPES = 64;
+
+    private final ReentrantLock[] stripes = createStripes();
+    private final ReentrantLock wideLock = new ReentrantLock(true);
+    private final AccountLockMetrics lockMetrics;
+
+    public List<ReentrantLock> tryLockAll(Collection<Long> accountIds, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        TreeSet<Integer> indexes = stripeIndexes(accountIds);
+        List<ReentrantLock> locks = indexes.size() > MAX_STRIPES
+                ? List.of(wideLock)
+                : indexes.stream().map(index -> stripes[index]).toList();
+        List<ReentrantLock> acquired = new ArrayList<>();
+        for (ReentrantLock lock : locks) {
+            if (!lock.tryLock(0, TimeUnit.NANOSECONDS)) {
+                lockMetrics.localLockWaited();
+                if (!lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    lockMetrics.localLockTimedOut();
+                    unlockAll(acquired);
+                    return null;
+                }
+            }
+            acquired.add(lock);
+        }
+        return acquired;
+    }
+
+    public void unlockAll(List<ReentrantLock> acquired) {
+        for (int i = acquired.size() - 1; i >= 0; i--) {
+            acquired.get(i).unlock();
+        }
+    }
+
+    private TreeSet<Integer> stripeIndexes(Collection<Long> accountIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long accountId : accountIds) {
+            int h = Long.hashCode(accountId);
+            indexes.add((h ^ (h >>> 16)) & (STRIPES - 1));
+        }
+        return indexes;
+    }
+
+    private static ReentrantLock[] createStripes() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock(true);
+        }
+        return locks;
+    }
+}
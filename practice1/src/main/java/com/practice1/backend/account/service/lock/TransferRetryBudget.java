@@ -0,0 +1,84 @@
+package com.practice1.backend.account.service.lock;
+
+import com.practice1.backend.account.config.TransferProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-wide token bucket: every first attempt deposits {@code budgetRatio} of a retry, every retry withdraws one,
+ * plus a small time-based reserve so that an idle node can still retry.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferRetryBudget implements MeterBinder {
+    private static final long RETRY_COST = 1_000;
+    private static final long MAX_REFILL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final TransferProperties transferProperties;
+    private final AtomicLong balance = new AtomicLong();
+    private final AtomicLong lastRefillNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder firstAttempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public void recordAttempt() {
+        firstAttempts.increment();
+        deposit((long) (transferProperties.getRetry().getBudgetRatio() * RETRY_COST));
+    }
+
+    public boolean tryAcquireRetry() {
+        refillReserve();
+        while (true) {
+            long current = balance.get();
+            if (current < RETRY_COST) {
+                exhausted.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - RETRY_COST)) {
+                retries.increment();
+                return true;
+            }
+        }
+    }
+
+    public long getFirstAttempts() { return firstAttempts.sum(); }
+
+    public long getRetries() { return retries.sum(); }
+
+    public long getExhausted() { return exhausted.sum(); }
+
+    public double getAvailableRetries() { return (double) balance.get() / RETRY_COST; }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("practice.retry.first.attempts", this, TransferRetryBudget::getFirstAttempts)
+                .register(registry);
+        FunctionCounter.builder("practice.retry.attempts", this, TransferRetryBudget::getRetries)
+                .register(registry);
+        FunctionCounter.builder("practice.retry.budget.exhausted", this, TransferRetryBudget::getExhausted)
+                .register(registry);
+        Gauge.builder("practice.retry.budget.available", this, TransferRetryBudget::getAvailableRetries)
+                .register(registry);
+    }
+
+    private void refillReserve() {
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+        long refill = Math.min(now - last, MAX_REFILL_NANOS) * transferProperties.getRetry().getMinRetriesPerSecond() * RETRY_COST
+                / TimeUnit.SECONDS.toNanos(1);
+        if (refill > 0 && lastRefillNanos.compareAndSet(last, now)) deposit(refill);
+    }
+
+    private void deposit(long amount) {
+        long capacity = transferProperties.getRetry().getMaxBurst() * RETRY_COST;
+        balance.accumulateAndGet(amount, (current, added) -> Math.min(capacity, current + added));
+    }
+}
@@ -0,0 +1,162 @@
+package com.practice1.backend.account.service.queue;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.exception.TransferQueueFullException;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.account.service.TransferMode;
+import com.practice1.backend.common.idempotency.service.IdempotencyRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SingleWriterTransferQueue {
+    private final AccountService accountService;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyRecorder idempotencyRecorder;
+
+    private final List<BlockingQueue<PendingTransfer>> shards = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (transferProperties.getMode() != TransferMode.SINGLE_WRITER) return;
+        TransferProperties.SingleWriter config = transferProperties.getSingleWriter();
+        running = true;
+        for (int i = 0; i < config.getWorkers(); i++) {
+            BlockingQueue<PendingTransfer> queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+            Thread worker = new Thread(() -> drain(queue, config.getMaxBatchSize()), "transfer-writer-" + i);
+            worker.setDaemon(true);
+            shards.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    public void transfer(WithdrawReqDto req) throws InterruptedException {
+        PendingTransfer pending = new PendingTransfer(req, idempotencyRecorder.current());
+        BlockingQueue<PendingTransfer> queue = shards.get(Math.floorMod(Long.hashCode(routingKey(req)), shards.size()));
+        if (!queue.offer(pending)) throw new TransferQueueFullException(req.getFromAccountId());
+
+        try {
+            pending.result.get(transferProperties.getSingleWriter().getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) throw new AccountLockTimeoutException();
+            await(pending);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Every debit of an account goes through the same writer, so a hot sender's balance checks never race across
+     * writers. A locked receiver row can still be credited by another writer; each batch locks its rows in ascending id
+     * order, so crossed pairs on two writers only wait for each other's short commit instead of deadlocking.
+     */
+    private long routingKey(WithdrawReqDto req) {
+        return req.getFromAccountId();
+    }
+
+    private void await(PendingTransfer pending) throws InterruptedException {
+        try {
+            pending.result.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+    }
+
+    private void drain(BlockingQueue<PendingTransfer> queue, int maxBatchSize) {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingTransfer> batch) {
+        try {
+            apply(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Single-writer batch of {} transfers failed, applying them one by one: {}", batch.size(), e.getMessage());
+            for (PendingTransfer pending : batch) {
+                try {
+                    apply(List.of(pending));
+                } catch (RuntimeException itemFailure) {
+                    pending.result.completeExceptionally(itemFailure);
+                }
+            }
+        }
+    }
+
+    private void apply(List<PendingTransfer> batch) {
+        List<WithdrawReqDto> legs = batch.stream().map(p -> p.req).toList();
+        accountService.settleDeferredCredits(legs);
+        // The callers' idempotency claims are bound to their own threads, so the writer marks them in its batch commit.
+        List<TransferLegResult> results = transactionTemplate.execute(status -> {
+            List<TransferLegResult> applied = accountService.applyTransfers(legs);
+            for (int i = 0; i < batch.size(); i++) {
+                if (applied.get(i).isSuccess()) idempotencyRecorder.markApplied(batch.get(i).claim);
+            }
+            return applied;
+        });
+        for (int i = 0; i < batch.size(); i++) {
+            TransferLegResult result = results.get(i);
+            if (result.isSuccess()) batch.get(i).result.complete(null);
+            else batch.get(i).result.completeExceptionally(result.getError());
+        }
+    }
+
+    private static final class PendingTransfer {
+        private final WithdrawReqDto req;
+        private final IdempotencyRecorder.Claim claim;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private PendingTransfer(WithdrawReqDto req, IdempotencyRecorder.Claim claim) {
+            this.req = req;
+            this.claim = claim;
+        }
+    }
+}
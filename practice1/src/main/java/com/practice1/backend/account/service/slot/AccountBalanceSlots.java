@@ -0,0 +1,87 @@
+package com.practice1.backend.account.service.slot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.entity.AccountBalanceSlotEntity;
+import com.practice1.backend.account.entity.AccountEntity;
+import com.practice1.backend.account.exception.AccountNotFoundException;
+import com.practice1.backend.account.repository.AccountBalanceSlotJpaRepository;
+import com.practice1.backend.account.repository.AccountJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hot accounts keep part of their balance in {@code account_balance_slot} rows so that credits land on one of N rows
+ * instead of serializing on the account row. Sharding only ever grows, so a stale slot count is always safe to use.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountBalanceSlots {
+
+    private final AccountJpaRepository accountJpaRepository;
+    private final AccountBalanceSlotJpaRepository slotRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<Long, Integer> slotCounts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    @EventListener(ApplicationReadyEvent.class)
+    void shardConfiguredAccounts() {
+        transferProperties.getBalanceSlots().getAccounts().forEach((accountId, slots) -> {
+            try {
+                shard(accountId, slots);
+            } catch (AccountNotFoundException e) {
+                log.warn("Skipping balance slots for unknown account {}", accountId);
+            }
+        });
+    }
+
+    public boolean isSharded(Long accountId) {
+        return slotCount(accountId) > 0;
+    }
+
+    public int slotCount(Long accountId) {
+        return slotCounts.get(accountId, id -> {
+            Integer slots = accountJpaRepository.findBalanceSlotsByAccountId(id);
+            return slots == null ? 0 : slots;
+        });
+    }
+
+    public void credit(Long accountId, int slots, Long amount) {
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        if (slotRepository.credit(accountId, slot, amount) == 0) throw new AccountNotFoundException(accountId);
+    }
+
+    public long sweep(Long accountId) {
+        long swept = 0;
+        for (AccountBalanceSlotEntity slot : slotRepository.findAllByAccountIdForUpdate(accountId)) {
+            swept += slot.drain();
+        }
+        return swept;
+    }
+
+    public void shard(Long accountId, int slots) {
+        transactionTemplate.executeWithoutResult(status -> {
+            AccountEntity account = accountJpaRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+            if (slots <= account.getBalanceSlots()) return;
+            for (int slot = account.getBalanceSlots(); slot < slots; slot++) {
+                slotRepository.save(new AccountBalanceSlotEntity(accountId, slot));
+            }
+            account.shardBalance(slots);
+        });
+        slotCounts.invalidate(accountId);
+    }
+}
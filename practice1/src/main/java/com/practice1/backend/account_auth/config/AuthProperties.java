@@ -0,0 +1,33 @@
+package com.practice1.backend.account_auth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "practice.auth")
+public class AuthProperties {
+
+    private Verification verification = new Verification();
+    private Token token = new Token();
+
+    @Getter
+    @Setter
+    public static class Verification {
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = Runtime.getRuntime().availableProcessors() * 4;
+        private long acquireTimeoutMillis = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Token {
+        private String secret;
+        private long ttlSeconds = 300;
+        // Without a shared secret each node signs with its own random key; only allowed when one node runs.
+        private boolean singleNode = false;
+    }
+}
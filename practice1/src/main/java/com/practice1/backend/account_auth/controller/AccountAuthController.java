@@ -0,0 +1,22 @@
+package com.practice1.backend.account_auth.controller;
+
+import com.practice1.backend.account_auth.dto.request.AuthTokenReqDto;
+import com.practice1.backend.account_auth.dto.response.AuthTokenResDto;
+import com.practice1.backend.account_auth.service.AuthTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/account")
+@RequiredArgsConstructor
+public class AccountAuthController {
+    private final AuthTokenService authTokenService;
+
+    @PostMapping("/{id}/auth")
+    public ResponseEntity<AuthTokenResDto> issueToken(@PathVariable Long id, @RequestBody @Valid AuthTokenReqDto req) throws InterruptedException {
+        return ResponseEntity.ok(authTokenService.issue(id, req.getRawPassword()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.practice1.backend.account_auth.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthTokenReqDto {
+
+    @NotNull
+    @Size(min = 6, max = 6)
+    private String rawPassword;
+}
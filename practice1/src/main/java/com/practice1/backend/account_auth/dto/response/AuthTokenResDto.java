@@ -0,0 +1,15 @@
+package com.practice1.backend.account_auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuthTokenResDto {
+    private String token;
+    private Instant expiresAt;
+}
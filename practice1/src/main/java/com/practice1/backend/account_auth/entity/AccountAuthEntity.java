@@ -36,14 +36,21 @@ public class AccountAuthEntity {
     @Column(name = "lock_until")
     private LocalDateTime lockUntil;
 
+    @Column(name = "token_epoch", nullable = false)
+    private Long tokenEpoch = 0L;
+
     public void increaseFail() {
         this.failCount++;
+        this.tokenEpoch++;
         if(this.failCount >= 5) {
             this.lock();
         }
     }
 
     public void unlock() {
+        if (hasFailureState()) {
+            this.tokenEpoch++;
+        }
         this.status = "ACTIVE";
         this.failCount = 0;
     }
@@ -51,5 +58,14 @@ public class AccountAuthEntity {
     public void lock() {
         this.lockUntil = LocalDateTime.now().plusMinutes(15);
         this.status = "LOCKED";
+        this.tokenEpoch++;
+    }
+
+    public boolean isLocked() {
+        return "LOCKED".equals(this.status) && lockUntil != null && lockUntil.isAfter(LocalDateTime.now());
+    }
+
+    public boolean hasFailureState() {
+        return !"ACTIVE".equals(this.status) || this.failCount != 0;
     }
-}
\ No newline at end of file
+}
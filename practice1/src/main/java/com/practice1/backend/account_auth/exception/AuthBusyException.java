@@ -0,0 +1,13 @@
+package com.practice1.backend.account_auth.exception;
+
+import com.practice1.backend.common.exception.PracticeException;
+
+public class AuthBusyException extends PracticeException {
+    private static final String MESSAGE = "Password verification is saturated, retry later";
+    public AuthBusyException() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() { return 503;}
+}
@@ -0,0 +1,13 @@
+package com.practice1.backend.account_auth.exception;
+
+import com.practice1.backend.common.exception.PracticeException;
+
+public class AuthTokenInvalidException extends PracticeException {
+    private static final String MESSAGE = "Auth token is invalid or expired";
+    public AuthTokenInvalidException() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() { return 401;}
+}
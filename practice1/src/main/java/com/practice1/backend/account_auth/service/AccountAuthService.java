@@ -8,11 +8,7 @@ import com.practice1.backend.account_auth.repository.AccountAuthJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-
-import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -20,22 +16,35 @@ public class AccountAuthService {
 
     private final AccountAuthJpaRepository accountAuthJpaRepository;
     private final PasswordEncoder encoder;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional(propagation = REQUIRES_NEW, noRollbackFor = AuthException.class)
+    // BCrypt runs with no transaction or connection held; only a state change opens a short write transaction.
     public void verifyPassword(Long accountId, String rawPassword) {
-        AccountAuthEntity auth = accountAuthJpaRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        AccountAuthEntity auth = findAuth(accountId);
 
         if (!encoder.matches(rawPassword, auth.getPassword())) {
-            auth.increaseFail();
-            throw new AuthException(auth.getFailCount());
+            Integer failCount = transactionTemplate.execute(status -> {
+                AccountAuthEntity current = findAuth(accountId);
+                current.increaseFail();
+                return current.getFailCount();
+            });
+            throw new AuthException(failCount);
         }
 
-        LocalDateTime lockUntil = auth.getLockUntil();
-        if (auth.getStatus().equals("LOCKED") && lockUntil != null && lockUntil.isAfter(LocalDateTime.now())) {
+        if (auth.isLocked()) {
             throw new AccountNotAvailableException();
-        } else {
-            auth.unlock();
         }
+        if (auth.hasFailureState()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                AccountAuthEntity current = findAuth(accountId);
+                if (current.isLocked()) throw new AccountNotAvailableException();
+                current.unlock();
+            });
+        }
+    }
+
+    private AccountAuthEntity findAuth(Long accountId) {
+        return accountAuthJpaRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
     }
-}
\ No newline at end of file
+}
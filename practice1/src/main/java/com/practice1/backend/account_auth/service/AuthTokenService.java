@@ -0,0 +1,99 @@
+package com.practice1.backend.account_auth.service;
+
+import com.practice1.backend.account.exception.AccountNotAvailableException;
+import com.practice1.backend.account.exception.AccountNotFoundException;
+import com.practice1.backend.account_auth.config.AuthProperties;
+import com.practice1.backend.account_auth.dto.response.AuthTokenResDto;
+import com.practice1.backend.account_auth.entity.AccountAuthEntity;
+import com.practice1.backend.account_auth.exception.AuthTokenInvalidException;
+import com.practice1.backend.account_auth.repository.AccountAuthJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthTokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final PasswordVerificationExecutor passwordVerifier;
+    private final AccountAuthJpaRepository accountAuthJpaRepository;
+    private final AuthProperties authProperties;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    void init() {
+        AuthProperties.Token config = authProperties.getToken();
+        String secret = config.getSecret();
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            if (!config.isSingleNode()) {
+                throw new IllegalStateException("practice.auth.token.secret must be set when more than one node can serve "
+                        + "transfers; set practice.auth.token.single-node=true to run one node with a per-node key");
+            }
+            log.warn("practice.auth.token.secret is not set, auth tokens are only valid on this node");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public AuthTokenResDto issue(Long accountId, String rawPassword) throws InterruptedException {
+        passwordVerifier.verify(accountId, rawPassword);
+        AccountAuthEntity auth = accountAuthJpaRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+
+        Instant expiresAt = Instant.now().plusSeconds(authProperties.getToken().getTtlSeconds());
+        String payload = accountId + "." + expiresAt.getEpochSecond() + "." + auth.getTokenEpoch();
+        return AuthTokenResDto.builder()
+                .token(payload + "." + sign(payload))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public void verify(Long accountId, String token) {
+        int signatureAt = token.lastIndexOf('.');
+        if (signatureAt < 0) throw new AuthTokenInvalidException();
+        String payload = token.substring(0, signatureAt);
+        byte[] signature = token.substring(signatureAt + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(signature, sign(payload).getBytes(StandardCharsets.US_ASCII))) {
+            throw new AuthTokenInvalidException();
+        }
+
+        String[] claims = payload.split("\\.");
+        if (claims.length != 3 || !claims[0].equals(String.valueOf(accountId))
+                || Long.parseLong(claims[1]) < Instant.now().getEpochSecond()) {
+            throw new AuthTokenInvalidException();
+        }
+
+        AccountAuthEntity auth = accountAuthJpaRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        if (auth.isLocked()) throw new AccountNotAvailableException();
+        if (!claims[2].equals(String.valueOf(auth.getTokenEpoch()))) throw new AuthTokenInvalidException();
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
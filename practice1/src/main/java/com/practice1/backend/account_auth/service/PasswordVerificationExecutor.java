@@ -0,0 +1,88 @@
+package com.practice1.backend.account_auth.service;
+
+import com.practice1.backend.account.service.TransferOutcome;
+import com.practice1.backend.account_auth.config.AuthProperties;
+import com.practice1.backend.account_auth.exception.AuthBusyException;
+import com.practice1.backend.common.metrics.Stage;
+import com.practice1.backend.common.metrics.StageMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@RequiredArgsConstructor
+public class PasswordVerificationExecutor {
+
+    private final AccountAuthService accountAuthService;
+    private final AuthProperties authProperties;
+    private final StageMetrics stageMetrics;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore permits;
+
+    @PostConstruct
+    void start() {
+        AuthProperties.Verification config = authProperties.getVerification();
+        AtomicInteger sequence = new AtomicInteger();
+        permits = new Semaphore(config.getThreads() + config.getQueueCapacity());
+        executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(config.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "password-verifier-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public void verify(Long accountId, String rawPassword) throws InterruptedException {
+        await(submit(accountId, rawPassword));
+    }
+
+    public CompletableFuture<Void> submit(Long accountId, String rawPassword) throws InterruptedException {
+        if (!permits.tryAcquire(authProperties.getVerification().getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+            throw new AuthBusyException();
+        }
+        try {
+            return CompletableFuture.runAsync(() -> {
+                long start = System.nanoTime();
+                RuntimeException failure = null;
+                try {
+                    accountAuthService.verifyPassword(accountId, rawPassword);
+                } catch (RuntimeException e) {
+                    failure = e;
+                    throw e;
+                } finally {
+                    permits.release();
+                    stageMetrics.record(Stage.PASSWORD_HASH, TransferOutcome.of(failure).getTag(), System.nanoTime() - start);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw new AuthBusyException();
+        }
+    }
+
+    public void await(CompletableFuture<Void> verification) throws InterruptedException {
+        try {
+            verification.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.practice1.backend.account_auth.service;
+
+import com.practice1.backend.account.service.TransferOutcome;
+import com.practice1.backend.common.metrics.Stage;
+import com.practice1.backend.common.metrics.StageMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+public class TransferCredentialVerifier {
+
+    private final PasswordVerificationExecutor passwordVerifier;
+    private final AuthTokenService authTokenService;
+    private final StageMetrics stageMetrics;
+
+    public void verify(Long accountId, String rawPassword, String authToken) throws InterruptedException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            if (authToken != null) {
+                authTokenService.verify(accountId, authToken);
+            } else {
+                passwordVerifier.verify(accountId, rawPassword);
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            failure = e;
+            throw e;
+        } finally {
+            stageMetrics.record(Stage.AUTH, TransferOutcome.of(failure).getTag(), System.nanoTime() - start);
+        }
+    }
+
+    public CompletableFuture<Void> submit(Long accountId, String rawPassword, String authToken) throws InterruptedException {
+        if (authToken != null) {
+            try {
+                authTokenService.verify(accountId, authToken);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return passwordVerifier.submit(accountId, rawPassword);
+    }
+
+    public void await(CompletableFuture<Void> verification) throws InterruptedException {
+        passwordVerifier.await(verification);
+    }
+}
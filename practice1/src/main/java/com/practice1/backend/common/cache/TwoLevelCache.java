@@ -0,0 +1,150 @@
+package com.practice1.backend.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Both tiers only accept a loaded value if the key was not evicted while it was being loaded: locally through a
+ * striped generation counter, remotely through a per-key generation that eviction bumps and write-back compares.
+ */
+@Slf4j
+public class TwoLevelCache<V> {
+    private static final int GENERATION_STRIPES = 4096;
+
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "redis.call('PUBLISH', ARGV[2], ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    private final String name;
+    private final Cache<Long, V> near;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final Duration remoteTtl;
+    private final Function<V, String> encoder;
+    private final Function<String, V> decoder;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TwoLevelCache(String name, long nearMaxSize, Duration nearTtl, Duration remoteTtl,
+                         RedisTemplate<String, String> redisTemplate, String channel,
+                         Function<V, String> encoder, Function<String, V> decoder) {
+        this.name = name;
+        this.near = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(nearTtl)
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.remoteTtl = remoteTtl;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    public V get(Long key, Supplier<V> loader) {
+        V value = near.getIfPresent(key);
+        if (value != null) {
+            nearHits.increment();
+            return value;
+        }
+
+        long generation = generations.get(stripe(key));
+        List<String> remote = readRemote(key);
+        if (remote != null && remote.get(0) != null) {
+            remoteHits.increment();
+            value = decoder.apply(remote.get(0));
+            putNear(key, value, generation);
+            return value;
+        }
+
+        misses.increment();
+        value = loader.get();
+        if (value != null) {
+            putNear(key, value, generation);
+            if (remote != null) writeRemote(key, value, remote.get(1));
+        }
+        return value;
+    }
+
+    public void evict(Long key) {
+        evictLocal(key);
+        try {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(remoteKey(key), generationKey(key)),
+                    String.valueOf(remoteTtl.toMillis()), channel, name + ":" + key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} from redis cache: {}", remoteKey(key), e.getMessage());
+        }
+    }
+
+    public void evictLocal(Long key) {
+        generations.incrementAndGet(stripe(key));
+        near.invalidate(key);
+    }
+
+    public String getName() { return name; }
+
+    public long getNearHits() { return nearHits.sum(); }
+
+    public long getRemoteHits() { return remoteHits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    // An eviction that lands between the put and the re-check may have run before the put; undo it in that case.
+    private void putNear(Long key, V value, long generation) {
+        near.put(key, value);
+        if (generations.get(stripe(key)) != generation) near.invalidate(key);
+    }
+
+    private List<String> readRemote(Long key) {
+        try {
+            return redisTemplate.opsForValue().multiGet(List.of(remoteKey(key), generationKey(key)));
+        } catch (RuntimeException e) {
+            log.debug("Redis cache read failed for {}: {}", remoteKey(key), e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(Long key, V value, String generation) {
+        try {
+            redisTemplate.execute(WRITE_SCRIPT, List.of(remoteKey(key), generationKey(key)),
+                    generation == null ? "0" : generation, encoder.apply(value), String.valueOf(remoteTtl.toMillis()));
+        } catch (RuntimeException e) {
+            log.debug("Redis cache write failed for {}: {}", remoteKey(key), e.getMessage());
+        }
+    }
+
+    private int stripe(Long key) {
+        return Math.floorMod(Long.hashCode(key), GENERATION_STRIPES);
+    }
+
+    private String remoteKey(Long key) {
+        return "cache:" + name + ":" + key;
+    }
+
+    private String generationKey(Long key) {
+        return "cache:" + name + ":" + key + ":gen";
+    }
+}
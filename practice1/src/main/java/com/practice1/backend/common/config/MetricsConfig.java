@@ -0,0 +1,9 @@
+package com.practice1.backend.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
@@ -0,0 +1,16 @@
+package com.practice1.backend.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "practice.timing")
+public class TimingProperties {
+
+    private boolean serverTimingHeader = false;
+    private long slowTransferMillis = 1_000;
+}
@@ -0,0 +1,31 @@
+package com.practice1.backend.common.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pins the current read-only transaction to the primary. Only effective before the transaction's first statement,
+ * since that is when the lazy connection proxy asks {@link ReadWriteRoutingDataSource} for a connection.
+ */
+public final class ReplicaRouting {
+    private static final Object PRIMARY_FORCED = new Object();
+
+    private ReplicaRouting() {
+    }
+
+    public static void forcePrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_FORCED)) return;
+        TransactionSynchronizationManager.bindResource(PRIMARY_FORCED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_FORCED);
+            }
+        });
+    }
+
+    static boolean isPrimaryForced() {
+        return TransactionSynchronizationManager.hasResource(PRIMARY_FORCED);
+    }
+}
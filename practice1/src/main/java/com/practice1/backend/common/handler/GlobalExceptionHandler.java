@@ -3,6 +3,8 @@ package com.practice1.backend.common.handler;
 import com.practice1.backend.common.exception.PracticeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -22,6 +24,19 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<?> handleInvalidRequest(MethodArgumentNotValidException e) {
+        FieldError fieldError = e.getBindingResult().getFieldError();
+        String message = fieldError == null ? "Invalid request"
+                : fieldError.getField() + " " + fieldError.getDefaultMessage();
+        log.warn("Rejected invalid request: {}", message);
+        return ResponseEntity.badRequest()
+                .body(Map.of(
+                        "error", "InvalidRequest",
+                        "message", message
+                ));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleUnexpectedException(Exception e) {
         log.error("Unhandled Exception: {}", e.getMessage(), e);
@@ -7,4 +7,5 @@ import java.lang.annotation.*;
 @Documented
 public @interface Idempotent {
     long ttl() default 300;
+    long waitMillis() default 5000;
 }
\ No newline at end of file
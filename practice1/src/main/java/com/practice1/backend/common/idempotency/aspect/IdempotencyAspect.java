@@ -1,8 +1,14 @@
 package com.practice1.backend.common.idempotency.aspect;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.practice1.backend.common.idempotency.annotation.Idempotent;
+import com.practice1.backend.common.idempotency.config.IdempotencyBackend;
+import com.practice1.backend.common.idempotency.config.IdempotencyProperties;
+import com.practice1.backend.common.idempotency.service.DatabaseIdempotencyService;
+import com.practice1.backend.common.idempotency.service.IdempotencyClaim;
+import com.practice1.backend.common.idempotency.service.IdempotencyCompletionNotifier;
 import com.practice1.backend.common.idempotency.service.IdempotencyService;
+import com.practice1.backend.common.metrics.Stage;
+import com.practice1.backend.common.metrics.StageMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -13,7 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Aspect
@@ -22,6 +31,10 @@ import java.util.Optional;
 public class IdempotencyAspect {
     private final HttpServletRequest request;
     private final IdempotencyService idempotencyService;
+    private final IdempotencyCompletionNotifier completionNotifier;
+    private final DatabaseIdempotencyService databaseIdempotencyService;
+    private final IdempotencyProperties idempotencyProperties;
+    private final StageMetrics stageMetrics;
 
     @Around("@annotation(com.practice1.backend.common.idempotency.annotation.Idempotent)")
     public Object checkIdempotency(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -30,29 +43,61 @@ public class IdempotencyAspect {
             return ResponseEntity.badRequest().body("Missing Idempotency-Key header");
         }
 
-        Optional<ResponseEntity<Object>> cached = idempotencyService.getCachedResponse(idempotencyKey);
-        if (cached.isPresent()) {
-            return cached.get();
+        Idempotent idempotent = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .getAnnotation(Idempotent.class);
+        long ttl = idempotent.ttl();
+        if (idempotencyProperties.getBackend() == IdempotencyBackend.DATABASE) {
+            return databaseIdempotencyService.execute(idempotencyKey, ttl, idempotent.waitMillis(), joinPoint);
         }
-
-        long ttl = ((MethodSignature) joinPoint.getSignature()).getMethod()
-                .getAnnotation(Idempotent.class).ttl();
-        boolean processing = idempotencyService.tryProcessing(idempotencyKey, ttl);
-        if (!processing) {
+        long start = System.nanoTime();
+        IdempotencyClaim claim = awaitClaim(idempotencyKey, ttl, idempotent.waitMillis());
+        if (claim.getStatus() == IdempotencyClaim.Status.COMPLETED) {
+            stageMetrics.record(Stage.IDEMPOTENCY, StageMetrics.HIT, System.nanoTime() - start);
+            return claim.getResponse();
+        }
+        if (claim.getStatus() == IdempotencyClaim.Status.PROCESSING) {
+            stageMetrics.record(Stage.IDEMPOTENCY, StageMetrics.CONFLICT, System.nanoTime() - start);
             return ResponseEntity.status(409).body("Idempotent request already processing");
         }
+        stageMetrics.record(Stage.IDEMPOTENCY, StageMetrics.MISS, System.nanoTime() - start);
 
         Object result;
         try {
             result = joinPoint.proceed();
-        } finally {
-            idempotencyService.clearProcessingKey(idempotencyKey);
+        } catch (Throwable t) {
+            idempotencyService.release(idempotencyKey);
+            completionNotifier.signal(idempotencyKey);
+            throw t;
         }
 
         if (result instanceof ResponseEntity<?> response) {
-            idempotencyService.cacheResponse(idempotencyKey, response, ttl);
+            idempotencyService.complete(idempotencyKey, response, ttl);
+        } else {
+            idempotencyService.release(idempotencyKey);
         }
+        completionNotifier.signal(idempotencyKey);
         return result;
     }
 
+    private IdempotencyClaim awaitClaim(String key, long ttl, long waitMillis) throws InterruptedException, ExecutionException {
+        IdempotencyClaim claim = idempotencyService.claim(key, ttl);
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (claim.getStatus() == IdempotencyClaim.Status.PROCESSING) {
+            CompletableFuture<Void> completion = completionNotifier.register(key);
+            claim = idempotencyService.claim(key, ttl);
+            long remaining = deadline - System.currentTimeMillis();
+            if (claim.getStatus() != IdempotencyClaim.Status.PROCESSING || remaining <= 0) {
+                completionNotifier.unregister(key, completion);
+                break;
+            }
+            try {
+                completion.get(remaining, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                completionNotifier.unregister(key, completion);
+                break;
+            }
+        }
+        return claim;
+    }
+
 }
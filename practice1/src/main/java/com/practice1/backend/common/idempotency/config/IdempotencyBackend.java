@@ -0,0 +1,6 @@
+package com.practice1.backend.common.idempotency.config;
+
+public enum IdempotencyBackend {
+    REDIS,
+    DATABASE
+}
@@ -0,0 +1,17 @@
+package com.practice1.backend.common.idempotency.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "practice.idempotency")
+public class IdempotencyProperties {
+
+    private IdempotencyBackend backend = IdempotencyBackend.REDIS;
+    private int cleanupBatchSize = 1_000;
+    private long waitPollMillis = 100;
+}
@@ -0,0 +1,57 @@
+package com.practice1.backend.common.idempotency.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "idempotency_record",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_key", columnNames = "idempotency_key"),
+        indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+public class IdempotencyRecordEntity {
+    public static final String PROCESSING = "PROCESSING";
+    public static final String APPLIED = "APPLIED";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Lob
+    @Column(name = "response", nullable = false)
+    private byte[] response;
+
+    @ColumnDefault("'" + COMPLETED + "'")
+    @Column(name = "state", length = 10, nullable = false)
+    private String state;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public static IdempotencyRecordEntity processing(String idempotencyKey, LocalDateTime expiresAt) {
+        IdempotencyRecordEntity record = new IdempotencyRecordEntity();
+        record.idempotencyKey = idempotencyKey;
+        record.response = new byte[0];
+        record.state = PROCESSING;
+        record.expiresAt = expiresAt;
+        return record;
+    }
+
+    public boolean isCompleted() {
+        return COMPLETED.equals(state);
+    }
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,16 @@
+package com.practice1.backend.common.idempotency.exception;
+
+import com.practice1.backend.common.exception.PracticeException;
+
+public class IdempotencyClaimLostException extends PracticeException {
+    private static final String MESSAGE = "Idempotency claim expired before the request was applied, retry with the same key";
+
+    public IdempotencyClaimLostException() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
+    }
+}
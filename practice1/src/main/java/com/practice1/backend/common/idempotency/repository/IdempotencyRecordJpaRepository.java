@@ -0,0 +1,35 @@
+package com.practice1.backend.common.idempotency.repository;
+
+import com.practice1.backend.common.idempotency.entity.IdempotencyRecordEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IdempotencyRecordJpaRepository extends JpaRepository<IdempotencyRecordEntity, Long> {
+    Optional<IdempotencyRecordEntity> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query("update IdempotencyRecordEntity r set r.state = '" + IdempotencyRecordEntity.APPLIED + "', r.expiresAt = :expiresAt " +
+            "where r.id = :id and r.state <> '" + IdempotencyRecordEntity.COMPLETED + "'")
+    int markApplied(@Param("id") Long id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update IdempotencyRecordEntity r set r.state = '" + IdempotencyRecordEntity.COMPLETED + "', " +
+            "r.response = :response, r.expiresAt = :expiresAt " +
+            "where r.id = :id and r.state <> '" + IdempotencyRecordEntity.COMPLETED + "'")
+    int complete(@Param("id") Long id, @Param("response") byte[] response, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r " +
+            "where r.id = :id and r.state = '" + IdempotencyRecordEntity.PROCESSING + "'")
+    int release(@Param("id") Long id);
+
+    @Query("select r.id from IdempotencyRecordEntity r where r.expiresAt < :now order by r.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
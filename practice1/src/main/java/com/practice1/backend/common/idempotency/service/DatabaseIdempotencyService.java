@@ -0,0 +1,155 @@
+package com.practice1.backend.common.idempotency.service;
+
+import com.practice1.backend.common.idempotency.config.IdempotencyBackend;
+import com.practice1.backend.common.idempotency.config.IdempotencyProperties;
+import com.practice1.backend.common.idempotency.entity.IdempotencyRecordEntity;
+import com.practice1.backend.common.idempotency.repository.IdempotencyRecordJpaRepository;
+import com.practice1.backend.common.metrics.Stage;
+import com.practice1.backend.common.metrics.StageMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Claims the key with a PROCESSING row in a short transaction of its own, then runs the handler outside any
+ * transaction so BCrypt and lock waits never hold a pooled connection. The handler's balance transaction marks the row
+ * APPLIED through {@link IdempotencyRecorder}, so the key and the balance updates commit together: a crash after that
+ * commit leaves an APPLIED row that is never released or executed again, only answered with 409 until its TTL passes.
+ * The response itself is stored in a second short transaction once the handler returns.
+ *
+ * <p>Duplicates wait up to {@code waitMillis} for the stored response. Waiters on this node wake on the local
+ * completion signal; a duplicate whose original runs on another node re-reads the row every {@code waitPollMillis},
+ * which keeps Redis off this path entirely.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatabaseIdempotencyService {
+    private final IdempotencyRecordJpaRepository recordRepository;
+    private final IdempotencyRecorder recorder;
+    private final IdempotencyCompletionNotifier completionNotifier;
+    private final StoredResponseCodec responseCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties idempotencyProperties;
+    private final StageMetrics stageMetrics;
+
+    public Object execute(String key, long ttlSeconds, long waitMillis, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + waitMillis;
+        Optional<IdempotencyRecordEntity> existing = findLiveRecord(key);
+        while (existing.isEmpty() || !existing.get().isCompleted()) {
+            if (existing.isEmpty()) {
+                Long recordId = claim(key, ttlSeconds);
+                if (recordId != null) {
+                    stageMetrics.record(Stage.IDEMPOTENCY, StageMetrics.MISS, System.nanoTime() - start);
+                    return proceed(key, new IdempotencyRecorder.Claim(recordId, ttlSeconds), joinPoint);
+                }
+                existing = findLiveRecord(key);
+                continue;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                stageMetrics.record(Stage.IDEMPOTENCY, StageMetrics.CONFLICT, System.nanoTime() - start);
+                return ResponseEntity.status(409).body("Idempotent request already processing");
+            }
+            existing = awaitCompletion(key, remaining);
+        }
+        stageMetrics.record(Stage.IDEMPOTENCY, StageMetrics.HIT, System.nanoTime() - start);
+        return responseCodec.decode(existing.get().getResponse());
+    }
+
+    @Scheduled(fixedDelayString = "${practice.idempotency.cleanup-interval-millis:60000}")
+    public void deleteExpired() {
+        if (idempotencyProperties.getBackend() != IdempotencyBackend.DATABASE) return;
+        PageRequest batch = PageRequest.of(0, idempotencyProperties.getCleanupBatchSize());
+        List<Long> expired;
+        do {
+            expired = recordRepository.findExpiredIds(LocalDateTime.now(), batch);
+            if (!expired.isEmpty()) recordRepository.deleteAllByIdInBatch(expired);
+        } while (expired.size() == batch.getPageSize());
+    }
+
+    private Long claim(String key, long ttlSeconds) {
+        try {
+            return transactionTemplate.execute(status -> recordRepository.saveAndFlush(
+                    IdempotencyRecordEntity.processing(key, LocalDateTime.now().plusSeconds(ttlSeconds))).getId());
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private Object proceed(String key, IdempotencyRecorder.Claim claim, ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result;
+        recorder.bind(claim);
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            release(key, claim);
+            throw t;
+        } finally {
+            recorder.unbind();
+        }
+        if (!(result instanceof ResponseEntity<?> response)) {
+            release(key, claim);
+            return result;
+        }
+        byte[] encoded;
+        try {
+            encoded = responseCodec.encode(response);
+        } catch (IllegalArgumentException e) {
+            release(key, claim);
+            return result;
+        }
+        transactionTemplate.executeWithoutResult(status -> recordRepository.complete(claim.recordId(), encoded,
+                LocalDateTime.now().plusSeconds(claim.ttlSeconds())));
+        completionNotifier.signal(key);
+        return result;
+    }
+
+    // Only a PROCESSING row is deleted: once the balance transaction marked it APPLIED the request must not run again.
+    private void release(String key, IdempotencyRecorder.Claim claim) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordRepository.release(claim.recordId()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency claim {}; it expires with its TTL: {}", key, e.getMessage());
+        }
+        completionNotifier.signal(key);
+    }
+
+    private Optional<IdempotencyRecordEntity> awaitCompletion(String key, long remainingMillis) throws Exception {
+        CompletableFuture<Void> completion = completionNotifier.register(key);
+        Optional<IdempotencyRecordEntity> record = findLiveRecord(key);
+        if (record.isEmpty() || record.get().isCompleted()) {
+            completionNotifier.unregister(key, completion);
+            return record;
+        }
+        try {
+            completion.get(Math.min(remainingMillis, idempotencyProperties.getWaitPollMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            completionNotifier.unregister(key, completion);
+        }
+        return findLiveRecord(key);
+    }
+
+    private Optional<IdempotencyRecordEntity> findLiveRecord(String key) {
+        Optional<IdempotencyRecordEntity> record = recordRepository.findByIdempotencyKey(key);
+        if (record.isPresent() && record.get().isExpired()) {
+            recordRepository.delete(record.get());
+            return Optional.empty();
+        }
+        return record;
+    }
+}
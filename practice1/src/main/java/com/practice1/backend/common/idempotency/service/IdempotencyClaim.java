@@ -0,0 +1,27 @@
+package com.practice1.backend.common.idempotency.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class IdempotencyClaim {
+    public enum Status { CLAIMED, PROCESSING, COMPLETED }
+
+    private final Status status;
+    private final ResponseEntity<Object> response;
+
+    static IdempotencyClaim claimed() {
+        return new IdempotencyClaim(Status.CLAIMED, null);
+    }
+
+    static IdempotencyClaim processing() {
+        return new IdempotencyClaim(Status.PROCESSING, null);
+    }
+
+    static IdempotencyClaim completed(ResponseEntity<Object> response) {
+        return new IdempotencyClaim(Status.COMPLETED, response);
+    }
+}
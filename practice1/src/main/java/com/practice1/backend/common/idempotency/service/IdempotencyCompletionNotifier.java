@@ -0,0 +1,38 @@
+package com.practice1.backend.common.idempotency.service;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyCompletionNotifier {
+    public static final String CHANNEL = "idem:completed";
+
+    private final RedissonClient redisson;
+    private final ConcurrentMap<String, CompletableFuture<Void>> waiters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        redisson.getTopic(CHANNEL, StringCodec.INSTANCE).addListener(String.class, (channel, key) -> signal(key));
+    }
+
+    public CompletableFuture<Void> register(String key) {
+        return waiters.computeIfAbsent(key, k -> new CompletableFuture<>());
+    }
+
+    public void unregister(String key, CompletableFuture<Void> completion) {
+        waiters.remove(key, completion);
+    }
+
+    public void signal(String key) {
+        CompletableFuture<Void> completion = waiters.remove(key);
+        if (completion != null) completion.complete(null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.practice1.backend.common.idempotency.service;
+
+import com.practice1.backend.common.idempotency.exception.IdempotencyClaimLostException;
+import com.practice1.backend.common.idempotency.repository.IdempotencyRecordJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Carries the DATABASE backend's claim from {@link DatabaseIdempotencyService} down to the transaction that applies the
+ * request, so the record turns APPLIED in the same commit as the balance updates. With the Redis backend, or outside an
+ * idempotent request, nothing is bound and marking is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyRecorder {
+    private final IdempotencyRecordJpaRepository recordRepository;
+    private final ThreadLocal<Claim> bound = new ThreadLocal<>();
+
+    public Claim current() {
+        return bound.get();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markApplied() {
+        markApplied(bound.get());
+    }
+
+    /**
+     * Fails the surrounding transaction when the claim is gone (expired and swept, then possibly claimed again by a
+     * retry), so a request that outlived its claim can never be applied next to the retry's own execution.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markApplied(Claim claim) {
+        if (claim == null) return;
+        if (recordRepository.markApplied(claim.recordId(), LocalDateTime.now().plusSeconds(claim.ttlSeconds())) == 0) {
+            throw new IdempotencyClaimLostException();
+        }
+    }
+
+    void bind(Claim claim) {
+        bound.set(claim);
+    }
+
+    void unbind() {
+        bound.remove();
+    }
+
+    public record Claim(Long recordId, long ttlSeconds) {
+    }
+}
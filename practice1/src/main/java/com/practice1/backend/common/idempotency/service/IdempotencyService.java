@@ -1,52 +1,78 @@
 package com.practice1.backend.common.idempotency.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.util.Optional;
+import java.util.Base64;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class IdempotencyService {
+    private static final String PROCESSING = "PROCESSING";
+    private static final String COMPLETED = "COMPLETED";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('HMGET', KEYS[1], 'state', 'response') " +
+            "if v[1] then return {v[1], v[2] or ''} end " +
+            "redis.call('HSET', KEYS[1], 'state', '" + PROCESSING + "') " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return {'CLAIMED', ''}",
+            List.class);
+
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HSET', KEYS[1], 'state', '" + COMPLETED + "', 'response', ARGV[1]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "redis.call('PUBLISH', ARGV[3], ARGV[4]) " +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], 'state') == '" + PROCESSING + "' then " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('PUBLISH', ARGV[1], ARGV[2]) " +
+            "return 1 end " +
+            "return 0",
+            Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final StoredResponseCodec responseCodec;
 
-    public Optional<ResponseEntity<Object>> getCachedResponse(String key) {
-        String value = redisTemplate.opsForValue().get("idem:" + key);
-        if (value == null) return Optional.empty();
-        try {
-            return Optional.of(objectMapper.readValue(
-                    value,
-                    new TypeReference<>() {
-                    }
-            ));
-        } catch (JsonProcessingException e) {
-            return Optional.empty();
-        }
+    public IdempotencyClaim claim(String key, long ttlSeconds) {
+        List<?> result = redisTemplate.execute(CLAIM_SCRIPT, List.of("idem:" + key), String.valueOf(ttlSeconds));
+        String state = String.valueOf(result.get(0));
+        if (PROCESSING.equals(state)) return IdempotencyClaim.processing();
+        if (COMPLETED.equals(state)) return IdempotencyClaim.completed(decode(String.valueOf(result.get(1))));
+        return IdempotencyClaim.claimed();
     }
 
-    public void cacheResponse(String key, ResponseEntity<?> response, long ttlSeconds) {
+    public void complete(String key, ResponseEntity<?> response, long ttlSeconds) {
+        String serialized;
         try {
-            String serialized = objectMapper.writeValueAsString(response);
-            redisTemplate.opsForValue().set("idem:" + key, serialized, Duration.ofSeconds(ttlSeconds));
-        } catch (JsonProcessingException ignored) {
+            serialized = Base64.getEncoder().encodeToString(responseCodec.encode(response));
+        } catch (IllegalArgumentException e) {
+            release(key);
+            return;
         }
+        redisTemplate.execute(COMPLETE_SCRIPT, List.of("idem:" + key), serialized, String.valueOf(ttlSeconds),
+                IdempotencyCompletionNotifier.CHANNEL, key);
     }
 
-    public boolean tryProcessing(String key, long ttlSeconds) {
-        Boolean ok = redisTemplate.opsForValue().setIfAbsent(
-                "idem:processing:" + key, "1", Duration.ofSeconds(ttlSeconds));
-        return Boolean.TRUE.equals(ok);
+    public void release(String key) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of("idem:" + key), IdempotencyCompletionNotifier.CHANNEL, key);
     }
 
-    public void clearProcessingKey(String key) {
-        redisTemplate.delete("idem:processing:" + key);
+    private ResponseEntity<Object> decode(String value) {
+        try {
+            return responseCodec.decode(Base64.getDecoder().decode(value));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(409).body("Idempotent request already processed");
+        }
     }
 
-}
\ No newline at end of file
+}
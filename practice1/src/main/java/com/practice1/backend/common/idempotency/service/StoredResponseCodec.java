@@ -0,0 +1,154 @@
+package com.practice1.backend.common.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+@Component
+@RequiredArgsConstructor
+public class StoredResponseCodec {
+    private static final byte VERSION = 1;
+    private static final int FLAG_BODY = 1;
+    private static final int FLAG_DEFLATED = 1 << 1;
+    private static final int COMPRESSION_THRESHOLD = 1024;
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL);
+
+    private final ObjectMapper objectMapper;
+
+    public byte[] encode(ResponseEntity<?> response) {
+        HttpHeaders headers = response.getHeaders();
+        List<String[]> stored = new ArrayList<>(STORED_HEADERS.size());
+        for (String name : STORED_HEADERS) {
+            String value = headers.getFirst(name);
+            if (value != null) stored.add(new String[]{name, value});
+        }
+
+        byte[] body = null;
+        Object value = response.getBody();
+        if (value != null) {
+            body = bodyBytes(value);
+            if (headers.getContentType() == null) {
+                String contentType = value instanceof String
+                        ? MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8"
+                        : MediaType.APPLICATION_JSON_VALUE;
+                stored.add(new String[]{HttpHeaders.CONTENT_TYPE, contentType});
+            }
+        }
+
+        int flags = 0;
+        if (body != null) {
+            flags |= FLAG_BODY;
+            if (body.length > COMPRESSION_THRESHOLD) {
+                byte[] deflated = deflate(body);
+                if (deflated.length < body.length) {
+                    body = deflated;
+                    flags |= FLAG_DEFLATED;
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + (body == null ? 0 : body.length));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            out.writeShort(response.getStatusCodeValue());
+            out.writeByte(stored.size());
+            for (String[] header : stored) {
+                out.writeUTF(header[0]);
+                out.writeUTF(header[1]);
+            }
+            if (body != null) {
+                out.writeInt(body.length);
+                out.write(body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public ResponseEntity<Object> decode(byte[] encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            if (in.readByte() != VERSION) throw new IllegalArgumentException("Unknown stored response version");
+            int flags = in.readByte();
+            int status = in.readUnsignedShort();
+            HttpHeaders headers = new HttpHeaders();
+            int headerCount = in.readUnsignedByte();
+            for (int i = 0; i < headerCount; i++) {
+                headers.set(in.readUTF(), in.readUTF());
+            }
+            byte[] body = null;
+            if ((flags & FLAG_BODY) != 0) {
+                body = new byte[in.readInt()];
+                in.readFully(body);
+                if ((flags & FLAG_DEFLATED) != 0) body = inflate(body);
+            }
+            return ResponseEntity.status(status).headers(headers).body(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] bodyBytes(Object body) {
+        if (body instanceof byte[] raw) return raw;
+        if (body instanceof String text) return text.getBytes(StandardCharsets.UTF_8);
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(byte[] deflated) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(deflated.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && inflater.needsInput()) throw new IllegalArgumentException("Truncated stored response");
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.practice1.backend.common.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Stage {
+    IDEMPOTENCY("idempotency"),
+    AUTH("auth"),
+    PASSWORD_HASH("password_hash"),
+    LOCAL_LOCK_WAIT("local_lock_wait"),
+    DISTRIBUTED_LOCK_WAIT("distributed_lock_wait"),
+    LOCK_HOLD("lock_hold"),
+    DB_LOCK_WAIT("db_lock_wait"),
+    COMMIT("commit");
+
+    private final String tag;
+}
@@ -0,0 +1,79 @@
+package com.practice1.backend.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage timers for the request path, tagged by stage and outcome. Timers are cached so recording
+ * a stage on the hot path is a map lookup and no meter id is built per call.
+ */
+@Component
+public class StageMetrics {
+    public static final String TIMER = "practice.stage";
+
+    public static final String SUCCESS = "success";
+    public static final String ACQUIRED = "acquired";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String CONFLICT = "conflict";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Map<String, Timer>> timers = new EnumMap<>(Stage.class);
+
+    public StageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) timers.put(stage, new ConcurrentHashMap<>());
+    }
+
+    public void record(Stage stage, String outcome, long nanos) {
+        StageTimings.add(stage, nanos);
+        Map<String, Timer> byOutcome = timers.get(stage);
+        Timer timer = byOutcome.get(outcome);
+        if (timer == null) timer = byOutcome.computeIfAbsent(outcome, o -> register(stage, o));
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times the commit of the surrounding transaction, from before-commit callbacks (which include the
+     * flush) to completion. Registers at most once per transaction.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) return;
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStart;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StageMetrics.this);
+                if (commitStart != 0) {
+                    record(Stage.COMMIT, status == STATUS_COMMITTED ? SUCCESS : ERROR, System.nanoTime() - commitStart);
+                }
+            }
+        });
+    }
+
+    private Timer register(Stage stage, String outcome) {
+        return Timer.builder(TIMER)
+                .tag("stage", stage.getTag())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.practice1.backend.common.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread stage breakdown of the request being served. {@link StageMetrics#record} feeds it, so it sees
+ * exactly what the timers see. One instance per thread is reused across requests and only a fixed array
+ * is written while timing, so it can stay enabled in production. Stages that run on other threads
+ * (password hashing, single-writer workers) are only visible through the stage that waits on them.
+ */
+public final class StageTimings {
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<StageTimings> CURRENT = ThreadLocal.withInitial(StageTimings::new);
+
+    private final long[] nanos = new long[STAGES.length];
+    private boolean active;
+    private long startNanos;
+    private long endNanos;
+    private long fromAccountId;
+    private long toAccountId;
+    private boolean hasAccounts;
+
+    private StageTimings() {
+    }
+
+    public static StageTimings start() {
+        StageTimings timings = CURRENT.get();
+        Arrays.fill(timings.nanos, 0L);
+        timings.hasAccounts = false;
+        timings.active = true;
+        timings.startNanos = System.nanoTime();
+        return timings;
+    }
+
+    static void add(Stage stage, long nanos) {
+        StageTimings timings = CURRENT.get();
+        if (timings.active) timings.nanos[stage.ordinal()] += nanos;
+    }
+
+    public static void accounts(long fromAccountId, long toAccountId) {
+        StageTimings timings = CURRENT.get();
+        if (!timings.active) return;
+        timings.fromAccountId = fromAccountId;
+        timings.toAccountId = toAccountId;
+        timings.hasAccounts = true;
+    }
+
+    public void stop() {
+        endNanos = System.nanoTime();
+        active = false;
+    }
+
+    public long elapsedNanos() {
+        return (active ? System.nanoTime() : endNanos) - startNanos;
+    }
+
+    public boolean hasAccounts() {
+        return hasAccounts;
+    }
+
+    public long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public long getToAccountId() {
+        return toAccountId;
+    }
+
+    /** {@code Server-Timing} value: recorded stages plus the total, durations in milliseconds. */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(160);
+        for (Stage stage : STAGES) {
+            long stageNanos = nanos[stage.ordinal()];
+            if (stageNanos == 0) continue;
+            appendMillis(header.append(stage.getTag()).append(";dur="), stageNanos).append(", ");
+        }
+        return appendMillis(header.append("total;dur="), elapsedNanos()).toString();
+    }
+
+    /** Log form: {@code stage_ms=value} pairs for every stage, recorded or not. */
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder(200);
+        for (Stage stage : STAGES) {
+            appendMillis(fields.append(stage.getTag()).append("_ms="), nanos[stage.ordinal()]).append(' ');
+        }
+        return appendMillis(fields.append("total_ms="), elapsedNanos()).toString();
+    }
+
+    private static StringBuilder appendMillis(StringBuilder target, long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        target.append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) target.append('0');
+        if (fraction < 10) target.append('0');
+        return target.append(fraction);
+    }
+}
@@ -0,0 +1,98 @@
+package com.practice1.backend.web.filter;
+
+import com.practice1.backend.common.config.TimingProperties;
+import com.practice1.backend.common.metrics.StageTimings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final String TRANSFER_PATH = "/account/transfer";
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final TimingProperties timingProperties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(TRANSFER_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req,
+                                    HttpServletResponse res,
+                                    FilterChain chain) throws IOException, ServletException {
+        StageTimings timings = StageTimings.start();
+        ServerTimingResponse timed = timingProperties.isServerTimingHeader() ? new ServerTimingResponse(res, timings) : null;
+        try {
+            chain.doFilter(req, timed != null ? timed : res);
+        } finally {
+            timings.stop();
+            if (timed != null) timed.writeHeader();
+            if (timings.elapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(timingProperties.getSlowTransferMillis())) {
+                logSlowTransfer(req, res, timings);
+            }
+        }
+    }
+
+    private void logSlowTransfer(HttpServletRequest req, HttpServletResponse res, StageTimings timings) {
+        if (timings.hasAccounts()) {
+            log.warn("slow_transfer method={} path={} status={} from={} to={} {}", req.getMethod(), req.getRequestURI(),
+                    res.getStatus(), timings.getFromAccountId(), timings.getToAccountId(), timings.toLogFields());
+        } else {
+            log.warn("slow_transfer method={} path={} status={} {}", req.getMethod(), req.getRequestURI(),
+                    res.getStatus(), timings.toLogFields());
+        }
+    }
+
+    /**
+     * Adds the header right before the body is written, when every stage of the handler has finished but
+     * the response is not yet committed. Bodiless responses get it after the chain returns.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final StageTimings timings;
+        private boolean written;
+
+        private ServerTimingResponse(HttpServletResponse response, StageTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        private void writeHeader() {
+            if (written || isCommitted()) return;
+            written = true;
+            setHeader(SERVER_TIMING, timings.toServerTiming());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.practice1.backend.async;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.service.AccountTransferService;
+import com.practice1.backend.account.service.async.AsyncTransferService;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.practice1.backend.account.entity.TransferRequestEntity.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = "practice.transfer.async.max-attempts=2")
+class AsyncTransferTest {
+
+    private static final long INITIAL_BALANCE = 10_000;
+
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+
+    @SpyBean
+    private AccountTransferService accountTransferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccounts testAccounts;
+    private long from;
+    private long to;
+
+    @BeforeEach
+    void setUp() {
+        testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        from = accounts.get(0);
+        to = accounts.get(1);
+    }
+
+    @Test
+    @DisplayName("접수한 비동기 송금은 한 번 반영되고 SUCCEEDED가 된다")
+    void submitted_transfer_succeeds_once() throws Exception {
+        long transferId = asyncTransferService.submit(transfer(1_000)).getTransferId();
+
+        awaitStatus(transferId, SUCCEEDED);
+        assertThat(testAccounts.balance(from)).isEqualTo(INITIAL_BALANCE - 1_000);
+        assertThat(testAccounts.balance(to)).isEqualTo(INITIAL_BALANCE + 1_000);
+        assertThat(attempts(transferId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("송금은 바깥 트랜잭션 없이 실행되어 락 퍼사드가 재시도하고 커밋 뒤에 락을 푼다")
+    void transfer_runs_without_outer_transaction() throws Exception {
+        AtomicBoolean transactionActive = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            transactionActive.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(accountTransferService).transferAuthenticated(argThat(req -> req.getFromAccountId() == from));
+
+        long transferId = asyncTransferService.submit(transfer(1_000)).getTransferId();
+
+        awaitStatus(transferId, SUCCEEDED);
+        assertThat(transactionActive).isFalse();
+    }
+
+    @Test
+    @DisplayName("처리 중에 선점이 풀려 다른 워커가 다시 가져가면, 먼저 돌던 워커는 SUCCEEDED로 바꾸지 않고 새 선점을 그대로 둔다")
+    void released_attempt_does_not_complete_new_claim() throws Exception {
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            WithdrawReqDto req = invocation.getArgument(0);
+            // 오래 걸린 워커의 선점을 스윕이 풀고 다른 워커가 다시 선점한 상황을 만든다.
+            jdbcTemplate.update("update transfer_request set attempts = attempts + 1 " +
+                    "where from_account_id = ? and status = 'PROCESSING'", req.getFromAccountId());
+            return null;
+        }).when(accountTransferService).transferAuthenticated(argThat(req -> req.getFromAccountId() == from));
+
+        long transferId = asyncTransferService.submit(transfer(1_000)).getTransferId();
+
+        awaitAttempts(transferId, 2);
+        Thread.sleep(200);
+        assertThat(status(transferId)).isEqualTo(PROCESSING);
+        assertThat(testAccounts.balance(from)).isEqualTo(INITIAL_BALANCE - 1_000);
+        assertThat(testAccounts.balance(to)).isEqualTo(INITIAL_BALANCE + 1_000);
+    }
+
+    @Test
+    @DisplayName("PROCESSING에 오래 머문 요청은 PENDING으로 되돌려 다시 처리된다")
+    void stale_processing_is_recovered() throws Exception {
+        long transferId = insertRequest(PROCESSING, 1, "DATEADD('MINUTE', -10, CURRENT_TIMESTAMP)");
+
+        asyncTransferService.recoverPending();
+        assertThat(status(transferId)).isEqualTo(PENDING);
+
+        jdbcTemplate.update("update transfer_request set updated_at = DATEADD('MINUTE', -1, CURRENT_TIMESTAMP) " +
+                "where transfer_id = ?", transferId);
+        asyncTransferService.recoverPending();
+
+        awaitStatus(transferId, SUCCEEDED);
+        assertThat(attempts(transferId)).isEqualTo(2);
+        assertThat(testAccounts.balance(from)).isEqualTo(INITIAL_BALANCE - 1_000);
+    }
+
+    @Test
+    @DisplayName("락 타임아웃은 PENDING으로 돌려 재시도하되, 최대 시도 횟수를 넘으면 FAILED로 끝낸다")
+    void lock_timeouts_are_capped() throws Exception {
+        doThrow(new AccountLockTimeoutException())
+                .when(accountTransferService).transferAuthenticated(argThat(req -> req.getFromAccountId() == from));
+
+        long transferId = asyncTransferService.submit(transfer(1_000)).getTransferId();
+        awaitAttempts(transferId, 1);
+        awaitStatus(transferId, PENDING);
+
+        jdbcTemplate.update("update transfer_request set updated_at = DATEADD('MINUTE', -1, CURRENT_TIMESTAMP) " +
+                "where transfer_id = ?", transferId);
+        asyncTransferService.recoverPending();
+
+        awaitStatus(transferId, FAILED);
+        assertThat(attempts(transferId)).isEqualTo(2);
+        assertThat(testAccounts.balance(from)).isEqualTo(INITIAL_BALANCE);
+    }
+
+    private WithdrawReqDto transfer(long amount) {
+        return WithdrawReqDto.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount)
+                .rawPassword(TestAccounts.PASSWORD)
+                .build();
+    }
+
+    private long insertRequest(String status, int attempts, String updatedAt) {
+        jdbcTemplate.update("insert into transfer_request (from_account_id, to_account_id, amount, status, attempts, " +
+                "created_at, updated_at) values (?, ?, 1000, ?, ?, " + updatedAt + ", " + updatedAt + ")",
+                from, to, status, attempts);
+        return jdbcTemplate.queryForObject("select max(transfer_id) from transfer_request where from_account_id = ?",
+                Long.class, from);
+    }
+
+    private String status(long transferId) {
+        return jdbcTemplate.queryForObject("select status from transfer_request where transfer_id = ?", String.class, transferId);
+    }
+
+    private int attempts(long transferId) {
+        return jdbcTemplate.queryForObject("select attempts from transfer_request where transfer_id = ?", Integer.class, transferId);
+    }
+
+    private void awaitStatus(long transferId, String expected) throws InterruptedException {
+        for (int i = 0; i < 100 && !expected.equals(status(transferId)); i++) Thread.sleep(50);
+        assertThat(status(transferId)).isEqualTo(expected);
+    }
+
+    private void awaitAttempts(long transferId, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && attempts(transferId) < expected; i++) Thread.sleep(50);
+        assertThat(attempts(transferId)).isEqualTo(expected);
+    }
+}
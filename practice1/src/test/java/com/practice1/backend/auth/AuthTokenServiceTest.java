@@ -0,0 +1,117 @@
+package com.practice1.backend.auth;
+
+import com.practice1.backend.account_auth.config.AuthProperties;
+import com.practice1.backend.account_auth.entity.AccountAuthEntity;
+import com.practice1.backend.account_auth.exception.AuthTokenInvalidException;
+import com.practice1.backend.account_auth.repository.AccountAuthJpaRepository;
+import com.practice1.backend.account_auth.service.AuthTokenService;
+import com.practice1.backend.account_auth.service.PasswordVerificationExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthTokenServiceTest {
+
+    private static final long ACCOUNT_ID = 7L;
+    private static final String PASSWORD = "123456";
+
+    private final PasswordVerificationExecutor passwordVerifier = mock(PasswordVerificationExecutor.class);
+    private final AccountAuthJpaRepository accountAuthJpaRepository = mock(AccountAuthJpaRepository.class);
+    private final AuthProperties authProperties = new AuthProperties();
+    private final AccountAuthEntity auth = new AccountAuthEntity();
+
+    @BeforeEach
+    void setUp() {
+        authProperties.getToken().setSecret("test-secret");
+        when(accountAuthJpaRepository.findById(anyLong())).thenReturn(Optional.of(auth));
+    }
+
+    @Test
+    @DisplayName("발급한 토큰은 같은 계좌로 검증된다")
+    void issued_token_verifies() throws Exception {
+        AuthTokenService tokens = service();
+
+        assertThatCode(() -> tokens.verify(ACCOUNT_ID, tokens.issue(ACCOUNT_ID, PASSWORD).getToken())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("서명이나 페이로드를 바꾼 토큰은 거절한다")
+    void tampered_token_is_rejected() throws Exception {
+        AuthTokenService tokens = service();
+        String token = tokens.issue(ACCOUNT_ID, PASSWORD).getToken();
+        int signatureAt = token.lastIndexOf('.');
+        char last = token.charAt(token.length() - 1);
+        String badSignature = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+        String extendedExpiry = token.replaceFirst("^(\\d+)\\.(\\d+)", "$1.9$2");
+
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID, badSignature)).isInstanceOf(AuthTokenInvalidException.class);
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID, extendedExpiry)).isInstanceOf(AuthTokenInvalidException.class);
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID, token.substring(0, signatureAt))).isInstanceOf(AuthTokenInvalidException.class);
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID, "no-signature")).isInstanceOf(AuthTokenInvalidException.class);
+    }
+
+    @Test
+    @DisplayName("다른 노드의 키로 서명한 토큰은 거절한다")
+    void token_signed_with_another_secret_is_rejected() throws Exception {
+        String token = service().issue(ACCOUNT_ID, PASSWORD).getToken();
+        authProperties.getToken().setSecret("other-secret");
+
+        assertThatThrownBy(() -> service().verify(ACCOUNT_ID, token)).isInstanceOf(AuthTokenInvalidException.class);
+    }
+
+    @Test
+    @DisplayName("만료된 토큰은 거절한다")
+    void expired_token_is_rejected() throws Exception {
+        authProperties.getToken().setTtlSeconds(-1);
+        AuthTokenService tokens = service();
+        String token = tokens.issue(ACCOUNT_ID, PASSWORD).getToken();
+
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID, token)).isInstanceOf(AuthTokenInvalidException.class);
+    }
+
+    @Test
+    @DisplayName("다른 계좌의 토큰으로는 송금할 수 없다")
+    void token_for_another_account_is_rejected() throws Exception {
+        AuthTokenService tokens = service();
+        String token = tokens.issue(ACCOUNT_ID, PASSWORD).getToken();
+
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID + 1, token)).isInstanceOf(AuthTokenInvalidException.class);
+    }
+
+    @Test
+    @DisplayName("비밀번호 실패로 epoch가 오르면 그 전에 발급한 토큰은 모두 무효가 된다")
+    void epoch_bump_invalidates_issued_tokens() throws Exception {
+        AuthTokenService tokens = service();
+        String before = tokens.issue(ACCOUNT_ID, PASSWORD).getToken();
+
+        auth.increaseFail();
+
+        assertThatThrownBy(() -> tokens.verify(ACCOUNT_ID, before)).isInstanceOf(AuthTokenInvalidException.class);
+        assertThatCode(() -> tokens.verify(ACCOUNT_ID, tokens.issue(ACCOUNT_ID, PASSWORD).getToken())).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("비밀 키가 없으면 단일 노드로 명시하지 않는 한 기동하지 않는다")
+    void missing_secret_fails_startup_unless_single_node() {
+        authProperties.getToken().setSecret(null);
+        assertThatThrownBy(this::service).isInstanceOf(IllegalStateException.class);
+
+        authProperties.getToken().setSingleNode(true);
+        assertThatCode(this::service).doesNotThrowAnyException();
+    }
+
+    private AuthTokenService service() {
+        AuthTokenService service = new AuthTokenService(passwordVerifier, accountAuthJpaRepository, authProperties);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
@@ -0,0 +1,66 @@
+package com.practice1.backend.auth;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.account_auth.exception.AuthBusyException;
+import com.practice1.backend.account_auth.service.TransferCredentialVerifier;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+class BatchCredentialVerificationTest {
+
+    private static final long INITIAL_BALANCE = 10_000;
+
+    @Autowired
+    private GlobalAccountLockFacade lockFacade;
+
+    @SpyBean
+    private TransferCredentialVerifier credentialVerifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("검증 풀이 포화돼 접수가 거절된 계좌의 레그만 실패하고, 나머지 레그는 반영된다")
+    void auth_busy_fails_only_that_credentials_legs() throws Exception {
+        TestAccounts testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(3, INITIAL_BALANCE);
+        long busy = accounts.get(0);
+        long ok = accounts.get(1);
+        long to = accounts.get(2);
+        doThrow(new AuthBusyException()).when(credentialVerifier).submit(eq(busy), any(), any());
+
+        List<TransferLegResult> results = lockFacade.transferBatchWithGlobalLock(List.of(
+                transfer(busy, to, 100), transfer(ok, to, 200), transfer(busy, to, 300), transfer(ok, to, 400)));
+
+        assertThat(results).extracting(TransferLegResult::isSuccess).containsExactly(false, true, false, true);
+        assertThat(results.get(0).getError()).isInstanceOf(AuthBusyException.class);
+        assertThat(results.get(2).getError()).isInstanceOf(AuthBusyException.class);
+        assertThat(testAccounts.balance(busy)).isEqualTo(INITIAL_BALANCE);
+        assertThat(testAccounts.balance(ok)).isEqualTo(INITIAL_BALANCE - 600);
+        assertThat(testAccounts.balance(to)).isEqualTo(INITIAL_BALANCE + 600);
+    }
+
+    private WithdrawReqDto transfer(long from, long to, long amount) {
+        return WithdrawReqDto.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount)
+                .rawPassword(TestAccounts.PASSWORD)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.practice1.backend.auth;
+
+import com.practice1.backend.account_auth.config.AuthProperties;
+import com.practice1.backend.account_auth.exception.AuthBusyException;
+import com.practice1.backend.account_auth.exception.AuthException;
+import com.practice1.backend.account_auth.service.AccountAuthService;
+import com.practice1.backend.account_auth.service.PasswordVerificationExecutor;
+import com.practice1.backend.common.metrics.StageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class PasswordVerificationExecutorTest {
+
+    private final AccountAuthService accountAuthService = mock(AccountAuthService.class);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private PasswordVerificationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getVerification().setThreads(1);
+        authProperties.getVerification().setQueueCapacity(1);
+        authProperties.getVerification().setAcquireTimeoutMillis(50);
+        doAnswer(invocation -> released.await(5, TimeUnit.SECONDS))
+                .when(accountAuthService).verifyPassword(anyLong(), anyString());
+        executor = new PasswordVerificationExecutor(accountAuthService, authProperties, new StageMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.invokeMethod(executor, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        ReflectionTestUtils.invokeMethod(executor, "stop");
+    }
+
+    @Test
+    @DisplayName("스레드와 대기열이 모두 차면 기다리지 않고 AuthBusyException으로 거절한다")
+    void saturated_executor_rejects_with_auth_busy() throws Exception {
+        CompletableFuture<Void> running = executor.submit(1L, "pw");
+        CompletableFuture<Void> queued = executor.submit(2L, "pw");
+
+        assertThatThrownBy(() -> executor.submit(3L, "pw")).isInstanceOf(AuthBusyException.class);
+
+        released.countDown();
+        executor.await(running);
+        executor.await(queued);
+        executor.verify(3L, "pw");
+    }
+
+    @Test
+    @DisplayName("검증 실패는 await에서 원래 예외로 던지고, 자리를 돌려준다")
+    void failed_verification_is_rethrown_and_releases_its_slot() throws Exception {
+        released.countDown();
+        doThrow(new AuthException(1)).when(accountAuthService).verifyPassword(eq(1L), anyString());
+
+        assertThatThrownBy(() -> executor.verify(1L, "wrong")).isInstanceOf(AuthException.class);
+        assertThat(executor.submit(2L, "pw").get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(executor.submit(3L, "pw").get(5, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,109 @@
+package com.practice1.backend.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.dto.request.BatchTransferReqDto;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchTransferControllerTest {
+
+    private static final long INITIAL_BALANCE = 10_000;
+    private static final long UNKNOWN_ACCOUNT = Long.MAX_VALUE;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccounts testAccounts;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        testAccounts = new TestAccounts(jdbcTemplate);
+        baseUrl = "http://localhost:" + port + "/account/transfers/batch";
+    }
+
+    @Test
+    @DisplayName("정상, 잔액 부족, 없는 계좌 레그가 섞인 배치는 레그별 결과를 돌려주고 정상 레그만 반영한다")
+    void mixed_batch_reports_each_leg() throws Exception {
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        long from = accounts.get(0);
+        long to = accounts.get(1);
+
+        JsonNode body = post(List.of(
+                transfer(from, to, 1_000L),
+                transfer(from, to, INITIAL_BALANCE),
+                transfer(from, UNKNOWN_ACCOUNT, 500L),
+                transfer(from, to, 2_000L)));
+
+        assertThat(body.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(body.get("failed").asInt()).isEqualTo(2);
+        JsonNode results = body.get("results");
+        assertThat(results).hasSize(4);
+        for (int i = 0; i < 4; i++) assertThat(results.get(i).get("index").asInt()).isEqualTo(i);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("SUCCESS");
+        assertThat(results.get(1).get("status").asText()).isEqualTo("FAILED");
+        assertThat(results.get(2).get("status").asText()).isEqualTo("FAILED");
+        assertThat(results.get(3).get("status").asText()).isEqualTo("SUCCESS");
+        assertThat(results.get(1).get("message").asText()).isNotBlank();
+        assertThat(results.get(2).get("message").asText()).isNotBlank();
+        assertThat(testAccounts.balance(from)).isEqualTo(INITIAL_BALANCE - 3_000);
+        assertThat(testAccounts.balance(to)).isEqualTo(INITIAL_BALANCE + 3_000);
+    }
+
+    @Test
+    @DisplayName("금액이 없는 레그가 있으면 배치 전체를 400으로 거절한다")
+    void leg_without_amount_is_rejected() throws Exception {
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+
+        assertThatThrownBy(() -> post(List.of(
+                transfer(accounts.get(0), accounts.get(1), 1_000L),
+                transfer(accounts.get(0), accounts.get(1), null))))
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(testAccounts.balance(accounts.get(0))).isEqualTo(INITIAL_BALANCE);
+    }
+
+    private JsonNode post(List<WithdrawReqDto> legs) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        HttpEntity<String> entity = new HttpEntity<>(
+                objectMapper.writeValueAsString(BatchTransferReqDto.builder().transfers(legs).build()), headers);
+        ResponseEntity<String> response = new RestTemplate().exchange(baseUrl, HttpMethod.POST, entity, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return objectMapper.readTree(response.getBody());
+    }
+
+    private WithdrawReqDto transfer(long from, long to, Long amount) {
+        return WithdrawReqDto.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount)
+                .rawPassword(TestAccounts.PASSWORD)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.practice1.backend.cache;
+
+import com.practice1.backend.common.cache.TwoLevelCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheTest {
+
+    private static final Long KEY = 1L;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private String name;
+    private TwoLevelCache<Long> node;
+    private TwoLevelCache<Long> peer;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", 6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        name = "test-" + UUID.randomUUID();
+        node = cache();
+        peer = cache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(redisTemplate.keys("cache:" + name + ":*"));
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("적재한 값은 두 계층에 모두 올라가고, 다른 노드는 원격 계층에서 읽는다")
+    void loaded_value_is_shared_through_remote_tier() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(node.get(KEY, () -> 100L + loads.incrementAndGet())).isEqualTo(101L);
+        assertThat(node.get(KEY, () -> 100L + loads.incrementAndGet())).isEqualTo(101L);
+        assertThat(peer.get(KEY, () -> 100L + loads.incrementAndGet())).isEqualTo(101L);
+
+        assertThat(loads).hasValue(1);
+        assertThat(node.getNearHits()).isEqualTo(1);
+        assertThat(peer.getRemoteHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("적재 도중 다른 노드가 무효화하면, 적재한(이미 낡은) 값은 어느 계층에도 다시 쓰이지 않는다")
+    void eviction_during_load_rejects_stale_write_back() {
+        Long stale = node.get(KEY, () -> {
+            // 이 노드가 옛 잔액을 읽은 직후, 다른 노드가 잔액을 바꾸고 무효화했다.
+            peer.evict(KEY);
+            node.evictLocal(KEY); // pub/sub으로 전달되는 무효화
+            return 100L;
+        });
+
+        assertThat(stale).isEqualTo(100L);
+        assertThat(redisTemplate.opsForValue().get("cache:" + name + ":" + KEY)).isNull();
+        assertThat(node.get(KEY, () -> 200L)).isEqualTo(200L);
+        assertThat(peer.get(KEY, () -> 300L)).isEqualTo(200L);
+    }
+
+    private TwoLevelCache<Long> cache() {
+        return new TwoLevelCache<>(name, 1_000, Duration.ofMinutes(1), Duration.ofMinutes(1),
+                redisTemplate, "cache:test:evict", String::valueOf, Long::valueOf);
+    }
+}
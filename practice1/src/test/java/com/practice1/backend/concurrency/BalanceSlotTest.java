@@ -0,0 +1,196 @@
+package com.practice1.backend.concurrency;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.exception.InsufficientBalanceException;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.account.service.slot.AccountBalanceSlots;
+import com.practice1.backend.account_auth.service.AuthTokenService;
+import com.practice1.backend.support.TestAccounts;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@SpringBootTest(properties = "practice.transfer.retry.max-attempts=1")
+class BalanceSlotTest {
+
+    private static final int SLOTS = 4;
+    private static final long INITIAL_BALANCE = 100_000;
+
+    @Autowired
+    private GlobalAccountLockFacade lockFacade;
+
+    @Autowired
+    private AccountBalanceSlots balanceSlots;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccounts testAccounts;
+    private long x;
+    private long z;
+
+    @BeforeEach
+    void setUp() {
+        testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        x = accounts.get(0);
+        z = accounts.get(1);
+    }
+
+    @Test
+    @DisplayName("슬롯 분할: 슬롯 행이 생기고, 입금은 계좌 행이 아니라 슬롯에 쌓인다")
+    void shard_routes_credits_to_slots() throws Exception {
+        balanceSlots.shard(z, SLOTS);
+        balanceSlots.shard(z, 2);
+
+        lockFacade.transferWithGlobalLock(transfer(x, z, 1_000));
+
+        assertThat(balanceSlots.slotCount(z)).isEqualTo(SLOTS);
+        assertThat(slotRowCount(z)).isEqualTo(SLOTS);
+        assertThat(rowBalance(z)).isEqualTo(INITIAL_BALANCE);
+        assertThat(slotBalance(z)).isEqualTo(1_000);
+        assertThat(testAccounts.balance(z)).isEqualTo(INITIAL_BALANCE + 1_000);
+    }
+
+    @Test
+    @DisplayName("계좌 행 잔액이 모자라면 송금 전에 슬롯 잔액을 계좌 행으로 쓸어 담는다")
+    void short_sender_sweeps_slots_before_transfer() throws Exception {
+        moveIntoSlots(x, INITIAL_BALANCE - 100);
+
+        lockFacade.transferWithGlobalLock(transfer(x, z, 5_000));
+
+        assertThat(slotBalance(x)).isZero();
+        assertThat(rowBalance(x)).isEqualTo(INITIAL_BALANCE - 5_000);
+        assertThat(testAccounts.balance(z)).isEqualTo(INITIAL_BALANCE + 5_000);
+        assertThatThrownBy(() -> lockFacade.transferWithGlobalLock(transfer(x, z, INITIAL_BALANCE)))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    @DisplayName("배치: 분할 계좌로 가는 입금은 모아서 한 번에 반영되고, 같은 배치의 뒤 건에서 출금 재원으로 쓰인다")
+    void batch_defers_slot_credits() throws Exception {
+        moveIntoSlots(x, INITIAL_BALANCE);
+        balanceSlots.shard(z, SLOTS);
+
+        List<TransferLegResult> results = lockFacade.transferBatchWithGlobalLock(List.of(
+                transfer(z, x, 3_000),
+                transfer(x, z, 2_000),
+                transfer(z, x, 1_000),
+                transfer(x, z, INITIAL_BALANCE + 2_000),
+                transfer(x, z, 1)));
+
+        assertThat(results).extracting(TransferLegResult::isSuccess).containsExactly(true, true, true, true, false);
+        assertThat(results.get(4).getError()).isInstanceOf(InsufficientBalanceException.class);
+        assertThat(testAccounts.balance(x)).isZero();
+        assertThat(testAccounts.balance(z)).isEqualTo(2 * INITIAL_BALANCE);
+        assertThat(rowBalance(z)).isEqualTo(INITIAL_BALANCE - 4_000);
+        assertThat(slotBalance(z)).isEqualTo(INITIAL_BALANCE + 4_000);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from account_balance_slot where account_id = ? and balance > 0",
+                Integer.class, z)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("서로의 슬롯에 입금하면서 자기 슬롯을 쓸어 담는 X↔Z 동시 송금(단건·배치)이 데드락 없이 총액을 보존한다")
+    void crossed_transfers_between_sharded_accounts_conserve_balance() throws Exception {
+        // 재시도를 끄고 돌리므로 DB 데드락이 한 번이라도 나면 AccountLockTimeoutException으로 드러난다.
+        moveIntoSlots(x, INITIAL_BALANCE);
+        moveIntoSlots(z, INITIAL_BALANCE);
+        String xToken = authTokenService.issue(x, TestAccounts.PASSWORD).getToken();
+        String zToken = authTokenService.issue(z, TestAccounts.PASSWORD).getToken();
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < 6; i++) {
+            int kind = i % 3;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < 30; n++) {
+                        try {
+                            if (kind == 0) lockFacade.transferWithGlobalLock(transfer(x, z, 30_000));
+                            else if (kind == 1) lockFacade.transferWithGlobalLock(transfer(z, x, 30_000));
+                            else {
+                                List<WithdrawReqDto> legs = List.of(
+                                        tokenTransfer(z, x, 20_000, zToken), tokenTransfer(x, z, 20_000, xToken));
+                                try {
+                                    lockFacade.transferBatchWithGlobalLock(legs).stream()
+                                            .filter(result -> !result.isSuccess())
+                                            .filter(result -> !(result.getError() instanceof InsufficientBalanceException))
+                                            .forEach(result -> failures.add(result.getError()));
+                                } catch (AccountLockTimeoutException e) {
+                                    // 배치가 던지는 예외는 분산 락 대기 초과뿐이다. DB 락 실패는 건별 결과로 온다.
+                                }
+                            }
+                        } catch (InsufficientBalanceException e) {
+                            // 잔액이 한쪽으로 쏠리면 생길 수 있다. 데드락/락 타임아웃만 실패로 본다.
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        failures.forEach(e -> log.warn("송금 실패", e));
+
+        assertThat(failures).isEmpty();
+        assertThat(testAccounts.totalBalance(List.of(x, z))).isEqualTo(2 * INITIAL_BALANCE);
+    }
+
+    private void moveIntoSlots(long accountId, long amount) {
+        balanceSlots.shard(accountId, SLOTS);
+        jdbcTemplate.update("update account set balance = balance - ? where account_id = ?", amount, accountId);
+        jdbcTemplate.update("update account_balance_slot set balance = ? where account_id = ?", amount / SLOTS, accountId);
+    }
+
+    private WithdrawReqDto transfer(long from, long to, long amount) {
+        return WithdrawReqDto.builder()
+                .fromAccountId(from)
+                .toAccountId(to)
+                .amount(amount)
+                .rawPassword(TestAccounts.PASSWORD)
+                .build();
+    }
+
+    private WithdrawReqDto tokenTransfer(long from, long to, long amount, String authToken) {
+        return WithdrawReqDto.builder().fromAccountId(from).toAccountId(to).amount(amount).authToken(authToken).build();
+    }
+
+    private long rowBalance(long accountId) {
+        return jdbcTemplate.queryForObject("select balance from account where account_id = ?", Long.class, accountId);
+    }
+
+    private long slotBalance(long accountId) {
+        return jdbcTemplate.queryForObject("select coalesce(sum(balance), 0) from account_balance_slot where account_id = ?",
+                Long.class, accountId);
+    }
+
+    private int slotRowCount(long accountId) {
+        return jdbcTemplate.queryForObject("select count(*) from account_balance_slot where account_id = ?",
+                Integer.class, accountId);
+    }
+}
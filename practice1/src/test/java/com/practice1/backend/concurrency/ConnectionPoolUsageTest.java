@@ -0,0 +1,110 @@
+package com.practice1.backend.concurrency;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountTransferService;
+import com.practice1.backend.support.TestAccounts;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = "practice.auth.verification.threads=" + ConnectionPoolUsageTest.VERIFICATION_THREADS)
+@ActiveProfiles("test")
+class ConnectionPoolUsageTest {
+
+    static final int VERIFICATION_THREADS = 2;
+    private static final int THREAD_COUNT = 200;
+    private static final long INITIAL_BALANCE = 10_000;
+
+    @Autowired
+    private AccountTransferService accountTransferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("핫 계좌 200건 동시 송금: 락 대기 중에는 커넥션을 점유하지 않는다")
+    void hot_account_transfers_do_not_hold_connections_while_waiting() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        TestAccounts testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        long accountA = accounts.get(0);
+        long accountB = accounts.get(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREAD_COUNT);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger failure = new AtomicInteger();
+        AtomicInteger peakActive = new AtomicInteger();
+        AtomicInteger peakAwaiting = new AtomicInteger();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                peakAwaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+        sampler.start();
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            boolean forward = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    accountTransferService.transfer(WithdrawReqDto.builder()
+                            .fromAccountId(forward ? accountA : accountB)
+                            .toAccountId(forward ? accountB : accountA)
+                            .amount(1L)
+                            .rawPassword(TestAccounts.PASSWORD)
+                            .build());
+                    success.incrementAndGet();
+                } catch (Exception e) {
+                    failure.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        done.await();
+        sampling.set(false);
+        sampler.join();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        log.info("성공: {}, 실패: {}, 풀 크기: {}, 최대 활성 커넥션: {}, 최대 커넥션 대기 스레드: {}",
+                success.get(), failure.get(), hikari.getMaximumPoolSize(), peakActive.get(), peakAwaiting.get());
+
+        // 같은 계좌 쌍은 락 안에서 한 건씩만 실행되므로, 락 대기 중인 요청은 커넥션을 잡지 않는다.
+        // 비밀번호 검증 스레드마다 인증 정보 조회 몫 1개, 스케줄러 등 백그라운드 작업 몫으로 1개 여유.
+        assertThat(success.get()).isPositive();
+        assertThat(peakActive.get()).isLessThanOrEqualTo(VERIFICATION_THREADS + 2);
+        assertThat(peakAwaiting.get()).isZero();
+        assertThat(testAccounts.totalBalance(accounts)).isEqualTo(2 * INITIAL_BALANCE);
+    }
+}
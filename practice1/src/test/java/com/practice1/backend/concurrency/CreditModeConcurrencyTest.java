@@ -0,0 +1,193 @@
+package com.practice1.backend.concurrency;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.CreditMode;
+import com.practice1.backend.account.service.credit.PendingCreditLedger;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.account.service.slot.AccountBalanceSlots;
+import com.practice1.backend.support.TestAccounts;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = "practice.transfer.pending-credits.fold-delay-millis=3600000")
+class CreditModeConcurrencyTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int TRANSFERS_PER_THREAD = 20;
+    private static final long INITIAL_BALANCE = 100_000;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private GlobalAccountLockFacade lockFacade;
+
+    @Autowired
+    private AccountBalanceSlots balanceSlots;
+
+    @Autowired
+    private PendingCreditLedger pendingCreditLedger;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestAccounts testAccounts;
+    private CreditMode originalCreditMode;
+    private long a;
+    private long b;
+
+    @BeforeEach
+    void setUp() {
+        testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        a = accounts.get(0);
+        b = accounts.get(1);
+        originalCreditMode = transferProperties.getCreditMode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setCreditMode(originalCreditMode);
+    }
+
+    @ParameterizedTest
+    @EnumSource(CreditMode.class)
+    @DisplayName("낙관적 경로: A→B, B→A 동시 송금이 데드락 없이 모두 반영된다")
+    void optimistic_opposite_transfers_do_not_deadlock(CreditMode creditMode) throws Exception {
+        transferProperties.setCreditMode(creditMode);
+
+        Queue<Throwable> failures = runOpposite(req -> {
+            while (true) {
+                try {
+                    accountService.withdrawAndDepositOptimistic(req);
+                    return;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    // 버전 충돌은 정상적인 재시도 대상이다. 데드락/락 타임아웃만 실패로 본다.
+                }
+            }
+        });
+
+        assertThat(failures).isEmpty();
+        assertThat(testAccounts.balance(a)).isEqualTo(INITIAL_BALANCE);
+        assertThat(testAccounts.balance(b)).isEqualTo(INITIAL_BALANCE);
+    }
+
+    @ParameterizedTest
+    @EnumSource(CreditMode.class)
+    @DisplayName("락 경로: A→B, B→A 동시 송금이 데드락 없이 모두 반영된다")
+    void locked_opposite_transfers_do_not_deadlock(CreditMode creditMode) throws Exception {
+        transferProperties.setCreditMode(creditMode);
+
+        Queue<Throwable> failures = runOpposite(lockFacade::transferWithGlobalLock);
+
+        assertThat(failures).isEmpty();
+        assertThat(testAccounts.balance(a)).isEqualTo(INITIAL_BALANCE);
+        assertThat(testAccounts.balance(b)).isEqualTo(INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("수신 계좌 행 락이 필요한지는 입금 방식과 슬롯 분할 여부로 정해진다")
+    void needs_credit_lock_follows_credit_mode() {
+        transferProperties.setCreditMode(CreditMode.LOCKED);
+        assertThat(accountService.needsCreditLock(a, b)).isTrue();
+
+        transferProperties.setCreditMode(CreditMode.ATOMIC_INCREMENT);
+        assertThat(accountService.needsCreditLock(a, b)).isFalse();
+        assertThat(accountService.needsBatchCreditLock(a, b)).isTrue();
+        assertThat(accountService.needsCreditLock(a, a)).isTrue();
+
+        transferProperties.setCreditMode(CreditMode.PENDING_LEDGER);
+        assertThat(accountService.needsCreditLock(a, b)).isFalse();
+        assertThat(accountService.needsBatchCreditLock(a, b)).isFalse();
+
+        transferProperties.setCreditMode(CreditMode.LOCKED);
+        balanceSlots.shard(b, 4);
+        assertThat(accountService.needsCreditLock(a, b)).isFalse();
+        assertThat(accountService.needsBatchCreditLock(a, b)).isFalse();
+    }
+
+    @Test
+    @DisplayName("미반영 입금 원장은 폴더가 계좌 잔액으로 옮기고, 그동안에도 조회 잔액은 보존된다")
+    void folder_moves_pending_credits_into_balance() throws Exception {
+        transferProperties.setCreditMode(CreditMode.PENDING_LEDGER);
+
+        lockFacade.transferWithGlobalLock(transfer(a, b, 1_000));
+        lockFacade.transferWithGlobalLock(transfer(a, b, 500));
+
+        assertThat(rowBalance(b)).isEqualTo(INITIAL_BALANCE);
+        assertThat(pendingCount(b)).isEqualTo(2);
+        assertThat(testAccounts.balance(b)).isEqualTo(INITIAL_BALANCE + 1_500);
+
+        pendingCreditLedger.foldPending();
+
+        assertThat(rowBalance(b)).isEqualTo(INITIAL_BALANCE + 1_500);
+        assertThat(pendingCount(b)).isZero();
+        assertThat(testAccounts.balance(a)).isEqualTo(INITIAL_BALANCE - 1_500);
+    }
+
+    private Queue<Throwable> runOpposite(Transfer transfer) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            boolean forward = i % 2 == 0;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < TRANSFERS_PER_THREAD; n++) {
+                        transfer.apply(forward ? transfer(a, b, 10) : transfer(b, a, 10));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        failures.forEach(e -> log.warn("송금 실패", e));
+        return failures;
+    }
+
+    private WithdrawReqDto transfer(long from, long to, long amount) {
+        return WithdrawReqDto.builder().fromAccountId(from).toAccountId(to).amount(amount).build();
+    }
+
+    private long rowBalance(long accountId) {
+        return jdbcTemplate.queryForObject("select balance from account where account_id = ?", Long.class, accountId);
+    }
+
+    private int pendingCount(long accountId) {
+        return jdbcTemplate.queryForObject("select count(*) from account_pending_credit where account_id = ?",
+                Integer.class, accountId);
+    }
+
+    private interface Transfer {
+        void apply(WithdrawReqDto req) throws Exception;
+    }
+}
@@ -0,0 +1,88 @@
+package com.practice1.backend.concurrency;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A→B / B→A 교차 송금의 정합성. 처리량 비교는 JMH TransferBenchmark(accountCount=2)에서 본다.
+ */
+@SpringBootTest
+class CrossedTransferTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int ITERATIONS = 50;
+    private static final long INITIAL_BALANCE = 1_000_000;
+
+    @Autowired
+    private GlobalAccountLockFacade lockFacade;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("A→B, B→A 교차 송금을 동시에 돌려도 교착 없이 끝나고 잔액 합이 보존된다")
+    void crossed_transfers_finish_without_deadlock() throws Exception {
+        TestAccounts testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        long accountA = accounts.get(0);
+        long accountB = accounts.get(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger forward = new AtomicInteger();
+        AtomicInteger backward = new AtomicInteger();
+        AtomicInteger lockTimeouts = new AtomicInteger();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            boolean isForward = i % 2 == 0;
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < ITERATIONS; n++) {
+                        try {
+                            lockFacade.transferWithGlobalLock(WithdrawReqDto.builder()
+                                    .fromAccountId(isForward ? accountA : accountB)
+                                    .toAccountId(isForward ? accountB : accountA)
+                                    .amount(1L)
+                                    .build());
+                            (isForward ? forward : backward).incrementAndGet();
+                        } catch (AccountLockTimeoutException e) {
+                            lockTimeouts.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+
+        start.countDown();
+        // 교착이 생기면 워커가 끝나지 못하거나 DB 교착 예외가 그대로 올라온다.
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(forward.get() + backward.get() + lockTimeouts.get()).isEqualTo(THREAD_COUNT * ITERATIONS);
+        assertThat(forward.get() + backward.get()).isPositive();
+        assertThat(testAccounts.balance(accountA)).isEqualTo(INITIAL_BALANCE - forward.get() + backward.get());
+        assertThat(testAccounts.balance(accountB)).isEqualTo(INITIAL_BALANCE + forward.get() - backward.get());
+        assertThat(testAccounts.totalBalance(accounts)).isEqualTo(2 * INITIAL_BALANCE);
+    }
+}
@@ -0,0 +1,98 @@
+package com.practice1.backend.datasource;
+
+import com.practice1.backend.common.datasource.ReadWriteRoutingDataSource;
+import com.practice1.backend.common.datasource.ReplicaRouting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = node("primary");
+    private final DataSource replica = node("replica");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        route(List.of(replica));
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 레플리카, 쓰기 트랜잭션과 트랜잭션 밖 조회는 프라이머리로 간다")
+    void routes_read_only_transactions_to_replica() {
+        String written = writeTransaction.execute(status -> currentNode());
+
+        assertThat(readOnly(this::currentNode)).isEqualTo("replica");
+        assertThat(written).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("최근 쓰기가 있으면 해당 읽기 전용 트랜잭션만 프라이머리로 고정된다")
+    void forced_primary_lasts_for_one_transaction() {
+        String forced = readOnly(() -> {
+            ReplicaRouting.forcePrimary();
+            return currentNode();
+        });
+
+        assertThat(forced).isEqualTo("primary");
+        assertThat(readOnly(this::currentNode)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("레플리카가 여러 대면 번갈아 조회한다")
+    void round_robins_between_replicas() {
+        route(List.of(replica, node("replica2")));
+
+        assertThat(List.of(readOnly(this::currentNode), readOnly(this::currentNode), readOnly(this::currentNode)))
+                .containsExactly("replica", "replica2", "replica");
+    }
+
+    @Test
+    @DisplayName("레플리카에 연결할 수 없으면 프라이머리에서 읽는다")
+    void falls_back_to_primary_when_replica_is_down() {
+        route(List.of(new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE")));
+
+        assertThat(readOnly(this::currentNode)).isEqualTo("primary");
+    }
+
+    private void route(List<DataSource> replicas) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String readOnly(Supplier<String> query) {
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
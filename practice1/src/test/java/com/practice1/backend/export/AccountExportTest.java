@@ -0,0 +1,100 @@
+package com.practice1.backend.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.service.export.AccountExportService;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountExportTest {
+
+    private static final int ACCOUNT_COUNT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountExportService accountExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long customerId;
+    private List<Long> accountIds;
+
+    @BeforeEach
+    void setUp() {
+        TestAccounts testAccounts = new TestAccounts(jdbcTemplate);
+        customerId = testAccounts.customer();
+        accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNT_COUNT; i++) accountIds.add(testAccounts.account(customerId, 1_000L * (i + 1)));
+    }
+
+    @Test
+    @DisplayName("고객의 계좌를 계좌 번호 순서대로 한 줄에 하나씩 NDJSON으로 내려준다")
+    void export_streams_ndjson_rows_in_order() throws Exception {
+        MvcResult started = mockMvc.perform(get("/account/{id}/export", customerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body).endsWith("\n");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(ACCOUNT_COUNT);
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            JsonNode row = objectMapper.readTree(lines[i]);
+            assertThat(row.get("accountId").asLong()).isEqualTo(accountIds.get(i));
+            assertThat(row.get("balance").asLong()).isEqualTo(1_000L * (i + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("내보내기는 응답 스트림을 닫지 않는다")
+    void export_leaves_the_response_stream_open() {
+        CloseTrackingStream out = new CloseTrackingStream();
+
+        accountExportService.export(customerId, out);
+
+        assertThat(out.closed).isFalse();
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(ACCOUNT_COUNT);
+    }
+
+    private static class CloseTrackingStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.practice1.backend.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.dto.request.BatchTransferReqDto;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.common.idempotency.entity.IdempotencyRecordEntity;
+import com.practice1.backend.common.idempotency.exception.IdempotencyClaimLostException;
+import com.practice1.backend.common.idempotency.repository.IdempotencyRecordJpaRepository;
+import com.practice1.backend.common.idempotency.service.DatabaseIdempotencyService;
+import com.practice1.backend.support.TestAccounts;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "practice.idempotency.backend=DATABASE")
+class DatabaseIdempotencyTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseIdempotencyService databaseIdempotencyService;
+
+    @Autowired
+    private IdempotencyRecordJpaRepository recordRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    private TestAccounts testAccounts;
+    private long from;
+    private long to;
+
+    @BeforeEach
+    void setUp() {
+        testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, 10_000);
+        from = accounts.get(0);
+        to = accounts.get(1);
+    }
+
+    @Test
+    @DisplayName("단건 송금: 같은 키로 두 번 보내면 한 번만 출금되고 저장된 응답을 재생한다")
+    void single_transfer_is_applied_once() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(leg(from, to, 1_000L));
+
+        ResponseEntity<String> first = post("/account/transfer", key, body);
+        ResponseEntity<String> replay = post("/account/transfer", key, body);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(testAccounts.balance(from)).isEqualTo(9_000L);
+        assertThat(testAccounts.balance(to)).isEqualTo(11_000L);
+        assertThat(recordRepository.findByIdempotencyKey(key))
+                .hasValueSatisfying(record -> assertThat(record.getState()).isEqualTo(IdempotencyRecordEntity.COMPLETED));
+    }
+
+    @Test
+    @DisplayName("배치 송금: 건별 결과가 저장되고 같은 키로 다시 보내면 같은 결과를 재생한다")
+    void batch_transfer_is_applied_once() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(BatchTransferReqDto.builder()
+                .transfers(List.of(leg(from, to, 1_000L), leg(from, to, 1_000_000L)))
+                .build());
+
+        ResponseEntity<String> first = post("/account/transfers/batch", key, body);
+        ResponseEntity<String> replay = post("/account/transfers/batch", key, body);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode result = objectMapper.readTree(first.getBody());
+        assertThat(result.get("succeeded").asInt()).isEqualTo(1);
+        assertThat(result.get("failed").asInt()).isEqualTo(1);
+        assertThat(objectMapper.readTree(replay.getBody())).isEqualTo(result);
+        assertThat(testAccounts.balance(from)).isEqualTo(9_000L);
+    }
+
+    @Test
+    @DisplayName("핸들러는 바깥 트랜잭션 없이 실행되고, 실패하면 선점 기록을 풀어 같은 키로 다시 시도할 수 있다")
+    void handler_runs_outside_transaction_and_failure_releases_claim() throws Throwable {
+        String key = UUID.randomUUID().toString();
+        ProceedingJoinPoint failing = mock(ProceedingJoinPoint.class);
+        when(failing.proceed()).thenThrow(new IllegalStateException("boom"));
+        AtomicBoolean transactionActive = new AtomicBoolean(true);
+        ProceedingJoinPoint succeeding = mock(ProceedingJoinPoint.class);
+        when(succeeding.proceed()).thenAnswer(invocation -> {
+            transactionActive.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        });
+
+        assertThatThrownBy(() -> databaseIdempotencyService.execute(key, 60, 0, failing))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(recordRepository.findByIdempotencyKey(key)).isEmpty();
+
+        Object first = databaseIdempotencyService.execute(key, 60, 0, succeeding);
+        Object replay = databaseIdempotencyService.execute(key, 60, 0, succeeding);
+
+        assertThat(transactionActive).isFalse();
+        assertThat(((ResponseEntity<?>) first).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(((ResponseEntity<?>) replay).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(succeeding, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("잔액이 커밋된 뒤 응답을 저장하기 전에 죽어도 같은 키로는 다시 실행되지 않는다")
+    void key_commits_with_balance_update() throws Throwable {
+        String key = UUID.randomUUID().toString();
+        ProceedingJoinPoint crashing = mock(ProceedingJoinPoint.class);
+        when(crashing.proceed()).thenAnswer(invocation -> {
+            accountService.withdrawAndDeposit(leg(from, to, 1_000L));
+            throw new IllegalStateException("crashed before the response was stored");
+        });
+        ProceedingJoinPoint retry = mock(ProceedingJoinPoint.class);
+
+        assertThatThrownBy(() -> databaseIdempotencyService.execute(key, 60, 0, crashing))
+                .isInstanceOf(IllegalStateException.class);
+        Object replay = databaseIdempotencyService.execute(key, 60, 200, retry);
+
+        assertThat(recordRepository.findByIdempotencyKey(key))
+                .hasValueSatisfying(record -> assertThat(record.getState()).isEqualTo(IdempotencyRecordEntity.APPLIED));
+        assertThat(((ResponseEntity<?>) replay).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        verify(retry, never()).proceed();
+        assertThat(testAccounts.balance(from)).isEqualTo(9_000L);
+    }
+
+    @Test
+    @DisplayName("선점 기록이 TTL로 지워진 뒤에는 잔액 트랜잭션이 롤백되어 재시도와 겹쳐 적용되지 않는다")
+    void lost_claim_rolls_back_balance_update() throws Throwable {
+        String key = UUID.randomUUID().toString();
+        ProceedingJoinPoint outlived = mock(ProceedingJoinPoint.class);
+        when(outlived.proceed()).thenAnswer(invocation -> {
+            jdbcTemplate.update("delete from idempotency_record where idempotency_key = ?", key);
+            accountService.withdrawAndDeposit(leg(from, to, 1_000L));
+            return ResponseEntity.noContent().build();
+        });
+
+        assertThatThrownBy(() -> databaseIdempotencyService.execute(key, 60, 0, outlived))
+                .isInstanceOf(IdempotencyClaimLostException.class);
+
+        assertThat(testAccounts.balance(from)).isEqualTo(10_000L);
+        assertThat(testAccounts.balance(to)).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("처리 중인 키로 들어온 중복 요청은 409 대신 원래 요청의 결과를 기다려 받는다")
+    void in_flight_duplicate_waits_for_result() throws Throwable {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slow = mock(ProceedingJoinPoint.class);
+        when(slow.proceed()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        });
+        ProceedingJoinPoint duplicate = mock(ProceedingJoinPoint.class);
+
+        CompletableFuture<Object> original = CompletableFuture.supplyAsync(() -> {
+            try {
+                return databaseIdempotencyService.execute(key, 60, 0, slow);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(release::countDown);
+        Object waited = databaseIdempotencyService.execute(key, 60, 5_000, duplicate);
+
+        assertThat(((ResponseEntity<?>) waited).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(((ResponseEntity<?>) original.get(5, TimeUnit.SECONDS)).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(duplicate, never()).proceed();
+    }
+
+    private WithdrawReqDto leg(long fromAccountId, long toAccountId, long amount) {
+        return WithdrawReqDto.builder()
+                .fromAccountId(fromAccountId)
+                .toAccountId(toAccountId)
+                .amount(amount)
+                .rawPassword(TestAccounts.PASSWORD)
+                .build();
+    }
+
+    private ResponseEntity<String> post(String path, String key, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", key);
+        return new RestTemplate().exchange("http://localhost:" + port + path, HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+    }
+}
@@ -90,8 +90,8 @@ public class IdempotencyTest {
     }
 
     @Test
-    @DisplayName("Test 3. 처리 중 동일 요청 들어오면 409 Conflict")
-    void same_request_while_processing_should_return_409() throws Exception {
+    @DisplayName("Test 3. 처리 중 동일 요청 들어오면 원 요청 결과를 기다려 동일 응답")
+    void same_request_while_processing_should_wait_for_original_response() throws Exception {
         String idemKey = UUID.randomUUID().toString();
 
         WithdrawReqDto req = WithdrawReqDto.builder()
@@ -116,10 +116,10 @@ public class IdempotencyTest {
             }
         });
 
-        // 2. 바로 동일 요청 재시도 (처리 중이므로 409 기대)
+        // 2. 바로 동일 요청 재시도 (처리 중이므로 원 요청 완료까지 대기 후 저장된 응답 기대)
         Thread.sleep(100); // 약간의 시간 간격
         ResponseEntity<String> second = new RestTemplate().exchange(baseUrl, HttpMethod.POST, entity, String.class);
-        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
 
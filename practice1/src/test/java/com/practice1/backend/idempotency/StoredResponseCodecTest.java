@@ -0,0 +1,106 @@
+package com.practice1.backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.dto.response.BatchTransferResDto;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.common.idempotency.service.StoredResponseCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StoredResponseCodecTest {
+
+    private static final int FLAG_DEFLATED = 1 << 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final StoredResponseCodec codec = new StoredResponseCodec(objectMapper);
+
+    @Test
+    @DisplayName("본문 없는 204 응답은 상태 코드만 복원된다")
+    void no_content_round_trip() {
+        ResponseEntity<Object> decoded = codec.decode(codec.encode(ResponseEntity.noContent().build()));
+
+        assertThat(decoded.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(decoded.getBody()).isNull();
+        assertThat(decoded.getHeaders()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("1KB 이하 본문은 압축 없이 그대로 저장되고 JSON Content-Type이 붙는다")
+    void small_body_is_stored_as_is() throws Exception {
+        Map<String, Object> body = Map.of("transferId", 42, "status", "PENDING");
+        byte[] encoded = codec.encode(ResponseEntity.status(HttpStatus.ACCEPTED).body(body));
+
+        ResponseEntity<Object> decoded = codec.decode(encoded);
+
+        assertThat(encoded[1] & FLAG_DEFLATED).isZero();
+        assertThat(decoded.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat((byte[]) decoded.getBody()).isEqualTo(objectMapper.writeValueAsBytes(body));
+        assertThat(decoded.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("1KB를 넘는 본문은 deflate로 줄여 저장하고 원래 바이트로 복원된다")
+    void large_body_is_deflated() throws Exception {
+        List<TransferLegResult> results = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            results.add(TransferLegResult.success(WithdrawReqDto.builder()
+                    .fromAccountId(i)
+                    .toAccountId(i + 1)
+                    .amount(1000L)
+                    .build()));
+        }
+        BatchTransferResDto body = BatchTransferResDto.fromResults(results);
+        byte[] json = objectMapper.writeValueAsBytes(body);
+
+        byte[] encoded = codec.encode(ResponseEntity.ok(body));
+        ResponseEntity<Object> decoded = codec.decode(encoded);
+
+        assertThat(encoded[1] & FLAG_DEFLATED).isNotZero();
+        assertThat(encoded.length).isLessThan(json.length);
+        assertThat((byte[]) decoded.getBody()).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("재생에 필요한 헤더만 보존하고 나머지는 버린다")
+    void replayable_headers_are_kept() {
+        ResponseEntity<String> response = ResponseEntity.created(URI.create("/account/transfers/7"))
+                .eTag("\"v1\"")
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header("X-Request-Id", "abc")
+                .body("created");
+
+        ResponseEntity<Object> decoded = codec.decode(codec.encode(response));
+
+        assertThat(decoded.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(decoded.getHeaders().getLocation()).isEqualTo(URI.create("/account/transfers/7"));
+        assertThat(decoded.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(decoded.getHeaders().getCacheControl()).isEqualTo("no-store");
+        assertThat(decoded.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("text/plain;charset=UTF-8");
+        assertThat(decoded.getHeaders().containsKey("X-Request-Id")).isFalse();
+        assertThat(new String((byte[]) decoded.getBody(), StandardCharsets.UTF_8)).isEqualTo("created");
+    }
+
+    @Test
+    @DisplayName("첫 바이트는 포맷 버전이고, 모르는 버전은 복원하지 않는다")
+    void unknown_version_is_rejected() {
+        byte[] encoded = codec.encode(ResponseEntity.ok("ok"));
+        assertThat(encoded[0]).isEqualTo((byte) 1);
+
+        encoded[0] = 2;
+        assertThatThrownBy(() -> codec.decode(encoded)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
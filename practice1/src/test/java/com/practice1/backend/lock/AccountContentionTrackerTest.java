@@ -0,0 +1,67 @@
+package com.practice1.backend.lock;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.service.lock.AccountContentionTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AccountContentionTrackerTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final long HALF_LIFE_MILLIS = 200;
+
+    private AccountContentionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.getAdaptive().setConflictThreshold(3.0);
+        transferProperties.getAdaptive().setHalfLifeMillis(HALF_LIFE_MILLIS);
+        tracker = new AccountContentionTracker(transferProperties);
+    }
+
+    @Test
+    @DisplayName("충돌이 임계치만큼 쌓이면 경합 계좌로 본다")
+    void conflicts_reaching_threshold_mark_account_contended() {
+        tracker.recordConflict(ACCOUNT_ID);
+        tracker.recordConflict(ACCOUNT_ID);
+        assertThat(tracker.isContended(ACCOUNT_ID)).isFalse();
+
+        tracker.recordConflict(ACCOUNT_ID);
+        tracker.recordConflict(ACCOUNT_ID);
+
+        assertThat(tracker.isContended(ACCOUNT_ID)).isTrue();
+        assertThat(tracker.isContended(ACCOUNT_ID + 1)).isFalse();
+        assertThat(tracker.contention(ACCOUNT_ID + 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("점수는 반감기마다 절반으로 줄어 임계치 아래로 내려간다")
+    void score_halves_every_half_life() throws Exception {
+        for (int i = 0; i < 4; i++) tracker.recordConflict(ACCOUNT_ID);
+
+        Thread.sleep(HALF_LIFE_MILLIS);
+
+        assertThat(tracker.contention(ACCOUNT_ID)).isCloseTo(2.0, within(0.3));
+        assertThat(tracker.isContended(ACCOUNT_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("충분히 식은 계좌는 성공 한 번으로 잊고, 아직 뜨거운 계좌는 남긴다")
+    void success_forgets_only_cooled_accounts() throws Exception {
+        for (int i = 0; i < 4; i++) tracker.recordConflict(ACCOUNT_ID);
+        tracker.recordSuccess(ACCOUNT_ID);
+        assertThat(tracker.isContended(ACCOUNT_ID)).isTrue();
+
+        tracker.recordConflict(ACCOUNT_ID + 1);
+        Thread.sleep(HALF_LIFE_MILLIS * 5);
+        tracker.recordSuccess(ACCOUNT_ID + 1);
+        tracker.recordConflict(ACCOUNT_ID + 1);
+
+        assertThat(tracker.contention(ACCOUNT_ID + 1)).isCloseTo(1.0, within(0.01));
+    }
+}
@@ -0,0 +1,81 @@
+package com.practice1.backend.lock;
+
+import com.practice1.backend.account.service.lock.AccountLockMetrics;
+import com.practice1.backend.account.service.lock.LocalAccountLocks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalAccountLocksTest {
+
+    private final AccountLockMetrics lockMetrics = new AccountLockMetrics();
+    private final LocalAccountLocks localAccountLocks = new LocalAccountLocks(lockMetrics);
+
+    @Test
+    @DisplayName("계좌 1만 개짜리 배치가 락을 잡고 있어도 단건 송금의 계좌 락은 기다리지 않는다")
+    void wide_batch_does_not_take_account_stripes() throws Exception {
+        List<Long> batch = LongStream.rangeClosed(1, 10_000).boxed().toList();
+        List<ReentrantLock> batchLocks = localAccountLocks.tryLockAll(batch, 1, TimeUnit.SECONDS);
+
+        List<ReentrantLock> single = onOtherThread(List.of(1L, 2L), 0);
+
+        assertThat(batchLocks).hasSize(1);
+        assertThat(single).hasSize(2);
+        assertThat(lockMetrics.getLocalLockWaits()).isZero();
+        localAccountLocks.unlockAll(batchLocks);
+    }
+
+    @Test
+    @DisplayName("넓은 배치끼리는 서로 직렬화된다")
+    void wide_batches_serialize_with_each_other() throws Exception {
+        List<ReentrantLock> first = localAccountLocks.tryLockAll(LongStream.rangeClosed(1, 1_000).boxed().toList(), 1, TimeUnit.SECONDS);
+
+        List<ReentrantLock> second = onOtherThread(LongStream.rangeClosed(5_000, 6_000).boxed().toList(), 50);
+
+        assertThat(second).isNull();
+        assertThat(lockMetrics.getLocalLockTimeouts()).isEqualTo(1);
+        localAccountLocks.unlockAll(first);
+    }
+
+    @Test
+    @DisplayName("로컬 대기 지표는 다른 스레드가 잡은 계좌를 기다린 횟수만 센다")
+    void local_waits_count_only_contended_acquisitions() throws Exception {
+        localAccountLocks.unlockAll(localAccountLocks.tryLockAll(List.of(1L), 1, TimeUnit.SECONDS));
+        assertThat(lockMetrics.getLocalLockWaits()).isZero();
+
+        List<ReentrantLock> held = localAccountLocks.tryLockAll(List.of(1L), 1, TimeUnit.SECONDS);
+        CompletableFuture<List<ReentrantLock>> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                List<ReentrantLock> acquired = localAccountLocks.tryLockAll(List.of(1L), 5, TimeUnit.SECONDS);
+                localAccountLocks.unlockAll(acquired);
+                return acquired;
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        localAccountLocks.unlockAll(held);
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(lockMetrics.getLocalLockWaits()).isEqualTo(1);
+    }
+
+    private List<ReentrantLock> onOtherThread(List<Long> accountIds, long timeoutMillis) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<ReentrantLock> acquired = localAccountLocks.tryLockAll(accountIds, timeoutMillis, TimeUnit.MILLISECONDS);
+                if (acquired != null) localAccountLocks.unlockAll(acquired);
+                return acquired;
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.practice1.backend.lock;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.exception.AccountLockTimeoutException;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.lock.GlobalAccountLockFacade;
+import com.practice1.backend.account.service.lock.TransferRetryBudget;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "practice.transfer.retry.max-attempts=3",
+        "practice.transfer.retry.base-delay-millis=1",
+        "practice.transfer.retry.max-delay-millis=1"})
+class RetryBudgetFacadeTest {
+
+    @Autowired
+    private GlobalAccountLockFacade lockFacade;
+
+    @SpyBean
+    private AccountService accountService;
+
+    @SpyBean
+    private TransferRetryBudget retryBudget;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WithdrawReqDto req;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> accounts = new TestAccounts(jdbcTemplate).accounts(2, 10_000);
+        req = WithdrawReqDto.builder().fromAccountId(accounts.get(0)).toAccountId(accounts.get(1)).amount(100L).build();
+        doThrow(new PessimisticLockingFailureException("row lock timeout"))
+                .when(accountService).withdrawAndDeposit(argThat(leg -> leg.getFromAccountId().equals(req.getFromAccountId())));
+    }
+
+    @Test
+    @DisplayName("재시도 예산이 바닥나면 첫 충돌에서 바로 AccountLockTimeoutException으로 실패한다")
+    void exhausted_budget_fails_fast() {
+        doReturn(false).when(retryBudget).tryAcquireRetry();
+
+        assertThatThrownBy(() -> lockFacade.transferWithGlobalLock(req))
+                .isInstanceOf(AccountLockTimeoutException.class)
+                .hasMessageContaining("retry budget exhausted");
+        verify(accountService, times(1)).withdrawAndDeposit(req);
+    }
+
+    @Test
+    @DisplayName("예산이 남아 있으면 최대 시도 횟수까지 재시도한 뒤 AccountLockTimeoutException으로 실패한다")
+    void available_budget_retries_up_to_max_attempts() {
+        doReturn(true).when(retryBudget).tryAcquireRetry();
+
+        assertThatThrownBy(() -> lockFacade.transferWithGlobalLock(req))
+                .isInstanceOf(AccountLockTimeoutException.class);
+        verify(accountService, times(3)).withdrawAndDeposit(req);
+        assertThat(retryBudget.getFirstAttempts()).isPositive();
+    }
+}
@@ -0,0 +1,65 @@
+package com.practice1.backend.lock;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.service.lock.TransferRetryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferRetryBudgetTest {
+
+    private final TransferProperties transferProperties = new TransferProperties();
+    private TransferRetryBudget retryBudget;
+
+    @BeforeEach
+    void setUp() {
+        TransferProperties.Retry retry = transferProperties.getRetry();
+        retry.setBudgetRatio(0.1);
+        retry.setMaxBurst(20);
+        retry.setMinRetriesPerSecond(0);
+        retryBudget = new TransferRetryBudget(transferProperties);
+    }
+
+    @Test
+    @DisplayName("첫 시도 100건이 쌓은 예산으로는 재시도 10건까지만 허용한다")
+    void budget_allows_ratio_times_attempts() {
+        for (int i = 0; i < 100; i++) retryBudget.recordAttempt();
+
+        int granted = 0;
+        while (retryBudget.tryAcquireRetry()) granted++;
+
+        assertThat(granted).isEqualTo(10);
+        assertThat(retryBudget.getRetries()).isEqualTo(10);
+        assertThat(retryBudget.getExhausted()).isEqualTo(1);
+        assertThat(retryBudget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    @DisplayName("예산은 maxBurst를 넘어 쌓이지 않는다")
+    void budget_is_capped_at_max_burst() {
+        for (int i = 0; i < 10_000; i++) retryBudget.recordAttempt();
+
+        assertThat(retryBudget.getAvailableRetries()).isEqualTo(20.0);
+        int granted = 0;
+        while (retryBudget.tryAcquireRetry()) granted++;
+        assertThat(granted).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("트래픽이 없어도 초당 최소 재시도 몫이 시간에 따라 다시 채워진다")
+    void reserve_refills_over_time() throws Exception {
+        transferProperties.getRetry().setMinRetriesPerSecond(20);
+        retryBudget = new TransferRetryBudget(transferProperties);
+        Thread.sleep(50);
+        while (retryBudget.tryAcquireRetry()) {
+            // 생성 이후 쌓인 몫을 모두 쓴다.
+        }
+
+        Thread.sleep(300);
+
+        assertThat(retryBudget.tryAcquireRetry()).isTrue();
+        assertThat(retryBudget.getAvailableRetries()).isLessThan(20.0);
+    }
+}
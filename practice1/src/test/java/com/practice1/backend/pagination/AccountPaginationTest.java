@@ -0,0 +1,120 @@
+package com.practice1.backend.pagination;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "practice.account.page.default-size=8",
+        "practice.account.page.max-size=10"})
+@AutoConfigureMockMvc
+class AccountPaginationTest {
+
+    private static final int ACCOUNT_COUNT = 20;
+    private static final Pattern NEXT_LINK = Pattern.compile("^<(.+)>; rel=\"next\"$");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long customerId;
+    private List<Long> accountIds;
+
+    @BeforeEach
+    void setUp() {
+        accountIds = new TestAccounts(jdbcTemplate).accounts(ACCOUNT_COUNT, 1_000);
+        customerId = jdbcTemplate.queryForObject("select customer_id from account where account_id = ?",
+                Long.class, accountIds.get(0));
+    }
+
+    @Test
+    @DisplayName("Link 헤더의 next를 따라가면 누락도 중복도 없이 모든 계좌를 순서대로 받는다")
+    void walking_next_links_returns_every_account_once() throws Exception {
+        List<Long> seen = new ArrayList<>();
+
+        List<Integer> pageSizes = walk(6, seen);
+
+        assertThat(seen).containsExactlyElementsOf(accountIds);
+        assertThat(pageSizes).containsExactly(6, 6, 6, 2);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지가 꽉 차면 빈 다음 페이지를 가리키는 Link 헤더를 보내지 않는다")
+    void exactly_full_last_page_has_no_next_link() throws Exception {
+        List<Long> seen = new ArrayList<>();
+
+        List<Integer> pageSizes = walk(10, seen);
+
+        assertThat(seen).containsExactlyElementsOf(accountIds);
+        assertThat(pageSizes).containsExactly(10, 10);
+    }
+
+    @Test
+    @DisplayName("size가 없으면 기본 크기, 범위를 벗어나면 1 ~ 최대 크기로 맞춘다")
+    void size_is_defaulted_and_clamped() throws Exception {
+        assertThat(accountIds(page(null))).hasSize(8);
+        assertThat(accountIds(page("0"))).hasSize(1);
+        assertThat(accountIds(page("-5"))).hasSize(1);
+        assertThat(accountIds(page("1000"))).hasSize(10);
+    }
+
+    private List<Integer> walk(int size, List<Long> seen) throws Exception {
+        List<Integer> pageSizes = new ArrayList<>();
+        RequestBuilder next = get("/account/{id}?size={size}", customerId, size);
+        while (next != null) {
+            MockHttpServletResponse response = mockMvc.perform(next).andExpect(status().isOk()).andReturn().getResponse();
+            List<Long> page = accountIds(response);
+            seen.addAll(page);
+            pageSizes.add(page.size());
+            String link = response.getHeader(HttpHeaders.LINK);
+            if (link == null) {
+                next = null;
+            } else {
+                Matcher matcher = NEXT_LINK.matcher(link);
+                assertThat(matcher.matches()).isTrue();
+                assertThat(matcher.group(1)).contains("size=" + size);
+                next = get(URI.create(matcher.group(1)));
+            }
+        }
+        return pageSizes;
+    }
+
+    private MockHttpServletResponse page(String size) throws Exception {
+        RequestBuilder request = size == null
+                ? get("/account/{id}", customerId)
+                : get("/account/{id}?size={size}", customerId, size);
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private List<Long> accountIds(MockHttpServletResponse response) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode account : objectMapper.readTree(response.getContentAsString())) ids.add(account.get("accountId").asLong());
+        return ids;
+    }
+}
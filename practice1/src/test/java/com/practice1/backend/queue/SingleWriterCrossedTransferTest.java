@@ -0,0 +1,80 @@
+package com.practice1.backend.queue;
+
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountTransferService;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 출금 계좌 기준 라우팅에서는 A→B와 B→A가 서로 다른 writer로 간다. 두 writer의 배치가 같은 행을 오름차순으로 잠그므로
+ * 교착 없이 서로의 커밋을 기다리기만 한다.
+ */
+@SpringBootTest(properties = {
+        "practice.transfer.mode=SINGLE_WRITER",
+        "practice.transfer.single-writer.workers=8"
+})
+class SingleWriterCrossedTransferTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int ITERATIONS = 50;
+    private static final long INITIAL_BALANCE = 1_000_000;
+
+    @Autowired
+    private AccountTransferService accountTransferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("수신 행도 잠그는 A→B, B→A 교차 송금이 서로 다른 writer에서 돌아도 모두 반영되고 잔액 합이 보존된다")
+    void crossed_transfers_on_different_writers_all_commit() throws Exception {
+        TestAccounts testAccounts = new TestAccounts(jdbcTemplate);
+        List<Long> accounts = testAccounts.accounts(2, INITIAL_BALANCE);
+        long accountA = accounts.get(0);
+        long accountB = accounts.get(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            boolean forward = i % 2 == 0;
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < ITERATIONS; n++) {
+                        accountTransferService.transferAuthenticated(WithdrawReqDto.builder()
+                                .fromAccountId(forward ? accountA : accountB)
+                                .toAccountId(forward ? accountB : accountA)
+                                .amount(forward ? 1L : 2L)
+                                .build());
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor));
+        }
+
+        start.countDown();
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        long transfersPerDirection = (long) THREAD_COUNT / 2 * ITERATIONS;
+        assertThat(testAccounts.balance(accountA)).isEqualTo(INITIAL_BALANCE + transfersPerDirection);
+        assertThat(testAccounts.balance(accountB)).isEqualTo(INITIAL_BALANCE - transfersPerDirection);
+        assertThat(testAccounts.totalBalance(accounts)).isEqualTo(2 * INITIAL_BALANCE);
+    }
+}
@@ -0,0 +1,116 @@
+package com.practice1.backend.queue;
+
+import com.practice1.backend.account.config.TransferProperties;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.account.service.AccountService;
+import com.practice1.backend.account.service.TransferLegResult;
+import com.practice1.backend.account.service.TransferMode;
+import com.practice1.backend.account.service.queue.SingleWriterTransferQueue;
+import com.practice1.backend.common.idempotency.service.IdempotencyRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SingleWriterTransferQueueTest {
+
+    private static final long POISON_AMOUNT = 13;
+
+    private final AccountService accountService = mock(AccountService.class);
+    private final Map<Long, String> writerByAmount = new ConcurrentHashMap<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private SingleWriterTransferQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.setMode(TransferMode.SINGLE_WRITER);
+        transferProperties.getSingleWriter().setWorkers(8);
+        when(accountService.applyTransfers(anyList())).thenAnswer(invocation -> {
+            List<WithdrawReqDto> legs = invocation.getArgument(0);
+            if (legs.stream().anyMatch(leg -> leg.getAmount() == 1)) released.await(5, TimeUnit.SECONDS);
+            batchSizes.add(legs.size());
+            legs.forEach(leg -> writerByAmount.put(leg.getAmount(), Thread.currentThread().getName()));
+            if (legs.stream().anyMatch(leg -> leg.getAmount() == POISON_AMOUNT)) throw new IllegalStateException("poison");
+            return legs.stream().map(TransferLegResult::success).toList();
+        });
+        queue = new SingleWriterTransferQueue(accountService, transferProperties,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(IdempotencyRecorder.class));
+        ReflectionTestUtils.invokeMethod(queue, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(queue, "stop");
+    }
+
+    @Test
+    @DisplayName("수신 계좌 행도 잠그는 송금이어도 한 계좌의 출금은 모두 같은 writer로 간다")
+    void debits_of_one_account_share_a_writer() throws Exception {
+        when(accountService.needsBatchCreditLock(anyLong(), anyLong())).thenReturn(true);
+        released.countDown();
+
+        for (long a = 1; a <= 16; a++) {
+            queue.transfer(transfer(1, 100 + a, 1_000 + a));
+            queue.transfer(transfer(100 + a, 1, 2_000 + a));
+        }
+
+        for (long a = 1; a <= 16; a++) {
+            assertThat(writerByAmount.get(1_000 + a)).isEqualTo(writerByAmount.get(1_001L));
+        }
+        assertThat(writerByAmount.values().stream().distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("배치 커밋이 실패하면 건별로 다시 적용해 문제가 된 송금만 실패한다")
+    void failed_batch_fails_only_the_offending_transfer() throws Exception {
+        // 첫 송금이 writer를 붙잡고 있는 동안 나머지가 한 배치로 쌓이도록 한다.
+        CompletableFuture<Void> blocker = submit(transfer(1, 2, 1));
+        Thread.sleep(100);
+        List<CompletableFuture<Void>> others = List.of(
+                submit(transfer(1, 2, 10)),
+                submit(transfer(1, 2, POISON_AMOUNT)),
+                submit(transfer(1, 2, 20)));
+        Thread.sleep(100);
+        released.countDown();
+
+        blocker.get(5, TimeUnit.SECONDS);
+        others.get(0).get(5, TimeUnit.SECONDS);
+        others.get(2).get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> others.get(1).get(5, TimeUnit.SECONDS)).hasRootCauseMessage("poison");
+        assertThat(batchSizes).contains(3);
+    }
+
+    private CompletableFuture<Void> submit(WithdrawReqDto req) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                queue.transfer(req);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private WithdrawReqDto transfer(long from, long to, long amount) {
+        return WithdrawReqDto.builder().fromAccountId(from).toAccountId(to).amount(amount).build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.practice1.backend.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트마다 새 고객/계좌/비밀번호를 만든다. 미리 심어둔 1, 2번 계좌에 기대지 않으므로 테스트끼리 잔액이 섞이지 않는다.
+ */
+public class TestAccounts {
+    public static final String PASSWORD = "123456";
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestAccounts(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long customer() {
+        return insert("insert into customer (customer_name, birth) values ('test', CURRENT_DATE)", "customer_id");
+    }
+
+    public long account(long customerId, long balance) {
+        long accountId = insert("insert into account (customer_id, balance, balance_slots, version, created_at) " +
+                "values (" + customerId + ", " + balance + ", 0, 0, CURRENT_TIMESTAMP)", "account_id");
+        jdbcTemplate.update("insert into account_auth (account_id, psword, account_status, fail_count, token_epoch) " +
+                "values (?, ?, 'ACTIVE', 0, 0)", accountId, PASSWORD_HASH);
+        return accountId;
+    }
+
+    public List<Long> accounts(int count, long balance) {
+        long customerId = customer();
+        List<Long> accountIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) accountIds.add(account(customerId, balance));
+        return accountIds;
+    }
+
+    /** 계좌 행, 잔액 슬롯, 미반영 입금 원장을 모두 더한 잔액. */
+    public long balance(long accountId) {
+        return jdbcTemplate.queryForObject("select a.balance " +
+                "+ (select coalesce(sum(s.balance), 0) from account_balance_slot s where s.account_id = a.account_id) " +
+                "+ (select coalesce(sum(p.amount), 0) from account_pending_credit p where p.account_id = a.account_id) " +
+                "from account a where a.account_id = ?", Long.class, accountId);
+    }
+
+    public long totalBalance(List<Long> accountIds) {
+        return accountIds.stream().mapToLong(this::balance).sum();
+    }
+
+    private long insert(String sql, String idColumn) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> connection.prepareStatement(sql, new String[]{idColumn}), keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
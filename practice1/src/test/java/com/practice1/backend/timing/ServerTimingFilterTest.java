@@ -0,0 +1,101 @@
+package com.practice1.backend.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice1.backend.account.dto.request.WithdrawReqDto;
+import com.practice1.backend.common.config.TimingProperties;
+import com.practice1.backend.support.TestAccounts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TimingProperties timingProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> accounts;
+
+    @BeforeEach
+    void setUp() {
+        accounts = new TestAccounts(jdbcTemplate).accounts(2, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingProperties.setServerTimingHeader(false);
+    }
+
+    @Test
+    @DisplayName("기본 설정에서는 Server-Timing 헤더를 보내지 않는다")
+    void header_is_absent_by_default() throws Exception {
+        assertThat(transfer().getHeader(SERVER_TIMING)).isNull();
+    }
+
+    @Test
+    @DisplayName("켜면 송금 응답에 단계별 시간과 전체 시간을 Server-Timing으로 보낸다")
+    void header_lists_recorded_stages_when_enabled() throws Exception {
+        timingProperties.setServerTimingHeader(true);
+
+        String header = transfer().getHeader(SERVER_TIMING);
+
+        assertThat(header).isNotNull();
+        assertThat(header).contains("auth;dur=", "lock_hold;dur=");
+        assertThat(header).matches("([a-z_]+;dur=\\d+\\.\\d{3}, )+total;dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    @DisplayName("송금이 아닌 경로에는 켜져 있어도 헤더를 붙이지 않는다")
+    void header_is_limited_to_transfer_paths() throws Exception {
+        timingProperties.setServerTimingHeader(true);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/account/balance/{id}", accounts.get(0)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(SERVER_TIMING)).isNull();
+    }
+
+    private MockHttpServletResponse transfer() throws Exception {
+        WithdrawReqDto req = WithdrawReqDto.builder()
+                .fromAccountId(accounts.get(0))
+                .toAccountId(accounts.get(1))
+                .amount(100L)
+                .rawPassword(TestAccounts.PASSWORD)
+                .build();
+        return mockMvc.perform(post("/account/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse();
+    }
+}